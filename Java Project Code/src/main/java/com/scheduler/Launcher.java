@@ -0,0 +1,10 @@
+package com.scheduler;
+
+// Plain main class for classpath launches (the AppCDS training run and archive users);
+// the java launcher refuses to start an Application subclass without JavaFX modules.
+public class Launcher {
+
+    public static void main(String[] args) {
+        MainApp.main(args);
+    }
+}
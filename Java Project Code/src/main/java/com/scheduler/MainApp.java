@@ -1,23 +1,74 @@
 package com.scheduler;
 
+import com.scheduler.controller.MainController;
+import com.scheduler.util.StartupTimer;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class MainApp extends Application {
 
+    private MainController controller;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/main_view.fxml"));
         Parent root = loader.load();
+        controller = loader.getController();
 
         Scene scene = new Scene(root, 1200, 800);
 
         primaryStage.setTitle("Employee Shift Scheduler");
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        // Timers run at the start of a pulse, so the second tick means the first frame is on screen
+        new AnimationTimer() {
+            private int ticks;
+
+            @Override
+            public void handle(long now) {
+                if (++ticks == 2) {
+                    stop();
+                    firstFrameShown();
+                }
+            }
+        }.start();
+    }
+
+    private void firstFrameShown() {
+        // Opt-in, for benchmarking and the appcds profile's training run
+        Path log = StartupTimer.configuredLog();
+        if (log != null) {
+            long millis = StartupTimer.millisSinceStart();
+            System.out.println("Time to first frame: " + millis + " ms");
+            try {
+                StartupTimer.record(log, millis);
+            } catch (IOException e) {
+                System.err.println("Failed to record startup time: " + e.getMessage());
+            }
+        }
+
+        controller.onFirstFrame();
+
+        // Set by the AppCDS training run in the appcds Maven profile
+        if (Boolean.getBoolean("scheduler.exitAfterFirstFrame")) {
+            Platform.exit();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
     }
 
     public static void main(String[] args) {
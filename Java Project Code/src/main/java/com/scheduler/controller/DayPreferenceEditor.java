@@ -0,0 +1,145 @@
+package com.scheduler.controller;
+
+import com.scheduler.model.Day;
+import com.scheduler.model.Preference;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Preference controls for one day. Selecting an employee loads values into the controls;
+// user edits only mark the day dirty and are turned back into a Preference on commit.
+class DayPreferenceEditor {
+    private static final String[] SHIFT_NAMES = {"MORNING", "AFTERNOON", "EVENING"};
+
+    private final Day day;
+    private final VBox root;
+    private final RadioButton noneRadio;
+    private final RadioButton singleRadio;
+    private final RadioButton rankedRadio;
+    private final ComboBox<String> singleChoice;
+    private final List<ComboBox<String>> rankChoices = new ArrayList<>(3);
+
+    private boolean loading;
+    private boolean dirty;
+
+    DayPreferenceEditor(Day day) {
+        this.day = day;
+
+        root = new VBox(8);
+        root.setStyle("-fx-padding: 10; -fx-border-color: #dddddd; -fx-border-width: 1; -fx-background-color: #f9f9f9;");
+
+        Label dayLabel = new Label(day.toString());
+        dayLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14;");
+
+        singleRadio = new RadioButton("Single Preference");
+        rankedRadio = new RadioButton("Ranked Preferences");
+        noneRadio = new RadioButton("No Preference");
+
+        ToggleGroup modeGroup = new ToggleGroup();
+        singleRadio.setToggleGroup(modeGroup);
+        rankedRadio.setToggleGroup(modeGroup);
+        noneRadio.setToggleGroup(modeGroup);
+        noneRadio.setSelected(true);
+
+        singleChoice = new ComboBox<>();
+        singleChoice.getItems().addAll(SHIFT_NAMES);
+        singleChoice.disableProperty().bind(singleRadio.selectedProperty().not());
+        singleChoice.valueProperty().addListener((obs, oldVal, newVal) -> markDirty());
+
+        HBox rankedBox = new HBox(10);
+        String[] rankLabels = {"1st:", "2nd:", "3rd:"};
+        for (int i = 0; i < rankLabels.length; i++) {
+            ComboBox<String> cb = new ComboBox<>();
+            cb.getItems().addAll(SHIFT_NAMES);
+            cb.setPromptText("Select");
+            cb.disableProperty().bind(rankedRadio.selectedProperty().not());
+            cb.valueProperty().addListener((obs, oldVal, newVal) -> markDirty());
+            rankChoices.add(cb);
+            rankedBox.getChildren().addAll(new Label(rankLabels[i]), cb);
+        }
+
+        modeGroup.selectedToggleProperty().addListener((obs, oldVal, newVal) -> markDirty());
+
+        root.getChildren().addAll(
+            dayLabel,
+            noneRadio,
+            singleRadio,
+            singleChoice,
+            rankedRadio,
+            rankedBox
+        );
+    }
+
+    Day getDay() {
+        return day;
+    }
+
+    VBox getRoot() {
+        return root;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void load(Preference pref) {
+        loading = true;
+        try {
+            singleChoice.setValue(null);
+            for (ComboBox<String> cb : rankChoices) {
+                cb.setValue(null);
+            }
+
+            if (pref.isSingle()) {
+                singleRadio.setSelected(true);
+                singleChoice.setValue(pref.getSingle().orElse(null));
+            } else if (pref.isRanked()) {
+                rankedRadio.setSelected(true);
+                for (Map.Entry<String, Integer> entry : pref.getRanked().entrySet()) {
+                    int rank = entry.getValue();
+                    if (rank >= 1 && rank <= rankChoices.size()) {
+                        rankChoices.get(rank - 1).setValue(entry.getKey());
+                    }
+                }
+            } else {
+                noneRadio.setSelected(true);
+            }
+            dirty = false;
+        } finally {
+            loading = false;
+        }
+    }
+
+    Preference commit() {
+        Preference pref = new Preference();
+
+        if (singleRadio.isSelected() && singleChoice.getValue() != null) {
+            pref.setSingle(singleChoice.getValue());
+        } else if (rankedRadio.isSelected()) {
+            Map<String, Integer> ranked = new HashMap<>();
+            for (int i = 0; i < rankChoices.size(); i++) {
+                if (rankChoices.get(i).getValue() != null) {
+                    ranked.put(rankChoices.get(i).getValue(), i + 1);
+                }
+            }
+            pref.setRanked(ranked);
+        }
+
+        dirty = false;
+        return pref;
+    }
+
+    private void markDirty() {
+        if (!loading) {
+            dirty = true;
+        }
+    }
+}
@@ -1,27 +1,46 @@
 package com.scheduler.controller;
 
 import com.scheduler.model.*;
+import com.scheduler.service.ScheduleEditor;
 import com.scheduler.service.SchedulerService;
+import com.scheduler.service.SolverWorkspace;
+import com.scheduler.util.EmployeeCalendarExporter;
+import com.scheduler.util.EmployeeSearchIndex;
 import com.scheduler.util.IOUtil;
+import com.scheduler.util.RosterJournal;
+import com.scheduler.util.RosterWatcher;
+import com.scheduler.util.ScheduleHistoryStore;
+import com.scheduler.util.SnapshotUtil;
 import com.scheduler.util.TableSnapshotUtil;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.DragEvent;
+import javafx.scene.input.Dragboard;
+import javafx.scene.input.TransferMode;
 import javafx.scene.layout.GridPane;
-import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 
 import java.io.File;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 
 public class MainController {
 
     @FXML private TextField seedField;
+    @FXML private TextField searchField;
     @FXML private TabPane tabPane;
     @FXML private TableView<Employee> employeeTable;
     @FXML private TableColumn<Employee, String> nameColumn;
@@ -31,16 +50,37 @@ public class MainController {
     @FXML private TextArea logsArea;
 
     private ObservableList<Employee> employees;
+    private FilteredList<Employee> filteredEmployees;
+    private EmployeeSearchIndex searchIndex;
+    private boolean searchRefreshQueued;
     private SchedulingResult currentResult;
-    private Map<Day, Map<Shift, ComboBox<String>>> preferenceControls;
+    private ScheduleEditor scheduleEditor;
+    private SchedulerService scheduleService;
+    private final SchedulePublisher schedulePublisher = new SchedulePublisher();
+    private DayPreferenceEditor[] preferenceEditors;
+    private Employee editingEmployee;
+    private RosterJournal journal;
+    private RosterWatcher rosterWatcher;
+    private ScheduleHistoryStore history;
+    private final SolverWorkspace solverWorkspace = new SolverWorkspace();
 
     @FXML
     public void initialize() {
         employees = FXCollections.observableArrayList();
-        preferenceControls = new HashMap<>();
+        filteredEmployees = new FilteredList<>(employees);
+        searchIndex = new EmployeeSearchIndex();
+
+        employees.addListener((ListChangeListener<Employee>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(searchIndex::remove);
+                change.getAddedSubList().forEach(searchIndex::add);
+            }
+            refreshSearchFilter();
+        });
+        searchField.textProperty().addListener((obs, oldText, newText) -> applySearchFilter());
 
         nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-        employeeTable.setItems(employees);
+        employeeTable.setItems(filteredEmployees);
 
         employeeTable.getSelectionModel().selectedItemProperty().addListener(
             (obs, oldSelection, newSelection) -> {
@@ -50,250 +90,127 @@ public class MainController {
             }
         );
 
-        buildPreferencesUI();
+        // The preference editors and the journal replay are left out of the first frame:
+        // editors are built on the first selection, the journal once the window is up
     }
 
-    private void buildPreferencesUI() {
-        preferencesBox.getChildren().clear();
+    public void onFirstFrame() {
+        openJournal();
+    }
 
-        for (Day day : Day.values()) {
-            VBox dayBox = new VBox(8);
-            dayBox.setStyle("-fx-padding: 10; -fx-border-color: #dddddd; -fx-border-width: 1; -fx-background-color: #f9f9f9;");
-
-            Label dayLabel = new Label(day.toString());
-            dayLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14;");
-
-            RadioButton singleRadio = new RadioButton("Single Preference");
-            RadioButton rankedRadio = new RadioButton("Ranked Preferences");
-            RadioButton noneRadio = new RadioButton("No Preference");
-
-            ToggleGroup modeGroup = new ToggleGroup();
-            singleRadio.setToggleGroup(modeGroup);
-            rankedRadio.setToggleGroup(modeGroup);
-            noneRadio.setToggleGroup(modeGroup);
-            noneRadio.setSelected(true);
-
-            ComboBox<String> singleChoice = new ComboBox<>();
-            singleChoice.getItems().addAll("MORNING", "AFTERNOON", "EVENING");
-            singleChoice.setDisable(true);
-
-            HBox rankedBox = new HBox(10);
-            ComboBox<String> rank1 = new ComboBox<>();
-            ComboBox<String> rank2 = new ComboBox<>();
-            ComboBox<String> rank3 = new ComboBox<>();
-
-            for (ComboBox<String> cb : Arrays.asList(rank1, rank2, rank3)) {
-                cb.getItems().addAll("MORNING", "AFTERNOON", "EVENING");
-                cb.setPromptText("Select");
-                cb.setDisable(true);
+    private void openJournal() {
+        try {
+            journal = RosterJournal.open(RosterJournal.defaultDirectory());
+            employees.setAll(journal.recover());
+        } catch (IOException e) {
+            System.err.println("Roster journal unavailable: " + e.getMessage());
+            journal = null;
+        }
+    }
+
+    public void shutdown() {
+        saveCurrentEmployeePreferences();
+        stopWatchingRoster();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close roster journal: " + e.getMessage());
+            }
+        }
+        if (history != null) {
+            try {
+                history.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close schedule history: " + e.getMessage());
             }
+        }
+    }
 
-            rankedBox.getChildren().addAll(
-                new Label("1st:"), rank1,
-                new Label("2nd:"), rank2,
-                new Label("3rd:"), rank3
-            );
-
-            singleRadio.selectedProperty().addListener((obs, oldVal, newVal) -> {
-                singleChoice.setDisable(!newVal);
-                if (newVal) {
-                    rank1.setDisable(true);
-                    rank2.setDisable(true);
-                    rank3.setDisable(true);
-                    saveCurrentEmployeePreferences();
-                }
-            });
+    private void journalEdit(JournalEdit edit) {
+        if (journal == null) return;
 
-            rankedRadio.selectedProperty().addListener((obs, oldVal, newVal) -> {
-                rank1.setDisable(!newVal);
-                rank2.setDisable(!newVal);
-                rank3.setDisable(!newVal);
-                if (newVal) {
-                    singleChoice.setDisable(true);
-                    saveCurrentEmployeePreferences();
-                }
-            });
+        try {
+            edit.apply(journal);
+            if (journal.needsCompaction()) {
+                journal.compact(new ArrayList<>(employees));
+            }
+        } catch (IOException e) {
+            showAlert("Error", "Failed to record roster change: " + e.getMessage());
+        }
+    }
 
-            noneRadio.selectedProperty().addListener((obs, oldVal, newVal) -> {
-                if (newVal) {
-                    singleChoice.setDisable(true);
-                    rank1.setDisable(true);
-                    rank2.setDisable(true);
-                    rank3.setDisable(true);
-                    saveCurrentEmployeePreferences();
-                }
-            });
+    private void replaceRoster(List<Employee> roster) {
+        editingEmployee = null;
+        employees.setAll(roster);
+        journalEdit(j -> j.compact(new ArrayList<>(employees)));
+    }
+
+    private interface JournalEdit {
+        void apply(RosterJournal journal) throws IOException;
+    }
 
-            singleChoice.setOnAction(e -> saveCurrentEmployeePreferences());
-            rank1.setOnAction(e -> saveCurrentEmployeePreferences());
-            rank2.setOnAction(e -> saveCurrentEmployeePreferences());
-            rank3.setOnAction(e -> saveCurrentEmployeePreferences());
+    private void applySearchFilter() {
+        filteredEmployees.setPredicate(searchIndex.predicate(searchField.getText()));
+    }
 
-            dayBox.getChildren().addAll(
-                dayLabel,
-                noneRadio,
-                singleRadio,
-                singleChoice,
-                rankedRadio,
-                rankedBox
-            );
+    // The predicate is a snapshot of the matches, so roster changes re-run an active search.
+    // A burst of changes (a watched file's delta) is coalesced into one refilter.
+    private void refreshSearchFilter() {
+        String query = searchField.getText();
+        if (query == null || query.isBlank() || searchRefreshQueued) {
+            return;
+        }
+        searchRefreshQueued = true;
+        Platform.runLater(() -> {
+            searchRefreshQueued = false;
+            applySearchFilter();
+        });
+    }
 
-            preferencesBox.getChildren().add(dayBox);
+    private void buildPreferencesUI() {
+        if (preferenceEditors != null) return;
 
-            Map<String, Object> controls = new HashMap<>();
-            controls.put("singleRadio", singleRadio);
-            controls.put("rankedRadio", rankedRadio);
-            controls.put("noneRadio", noneRadio);
-            controls.put("singleChoice", singleChoice);
-            controls.put("rank1", rank1);
-            controls.put("rank2", rank2);
-            controls.put("rank3", rank3);
-            controls.put("day", day);
+        preferencesBox.getChildren().clear();
+        preferenceEditors = new DayPreferenceEditor[Day.values().length];
 
-            preferencesBox.setUserData(controls);
+        for (Day day : Day.values()) {
+            DayPreferenceEditor editor = new DayPreferenceEditor(day);
+            preferenceEditors[day.ordinal()] = editor;
+            preferencesBox.getChildren().add(editor.getRoot());
         }
     }
 
     private void updatePreferencesView(Employee employee) {
         if (employee == null) return;
 
-        for (javafx.scene.Node node : preferencesBox.getChildren()) {
-            if (node instanceof VBox) {
-                VBox dayBox = (VBox) node;
-                Day day = null;
-                RadioButton singleRadio = null;
-                RadioButton rankedRadio = null;
-                RadioButton noneRadio = null;
-                ComboBox<String> singleChoice = null;
-                ComboBox<String> rank1 = null;
-                ComboBox<String> rank2 = null;
-                ComboBox<String> rank3 = null;
-
-                for (javafx.scene.Node child : dayBox.getChildren()) {
-                    if (child instanceof Label && ((Label) child).getStyle().contains("bold")) {
-                        day = Day.valueOf(((Label) child).getText());
-                    } else if (child instanceof RadioButton) {
-                        RadioButton rb = (RadioButton) child;
-                        if (rb.getText().equals("Single Preference")) {
-                            singleRadio = rb;
-                        } else if (rb.getText().equals("Ranked Preferences")) {
-                            rankedRadio = rb;
-                        } else if (rb.getText().equals("No Preference")) {
-                            noneRadio = rb;
-                        }
-                    } else if (child instanceof ComboBox) {
-                        singleChoice = (ComboBox<String>) child;
-                    } else if (child instanceof HBox) {
-                        HBox rankedBox = (HBox) child;
-                        int comboIndex = 0;
-                        for (javafx.scene.Node rankedChild : rankedBox.getChildren()) {
-                            if (rankedChild instanceof ComboBox) {
-                                if (comboIndex == 0) rank1 = (ComboBox<String>) rankedChild;
-                                else if (comboIndex == 1) rank2 = (ComboBox<String>) rankedChild;
-                                else if (comboIndex == 2) rank3 = (ComboBox<String>) rankedChild;
-                                comboIndex++;
-                            }
-                        }
-                    }
-                }
+        saveCurrentEmployeePreferences();
+        buildPreferencesUI();
+        editingEmployee = employee;
 
-                if (day != null) {
-                    Preference pref = employee.getPreference(day);
-
-                    if (pref.isSingle()) {
-                        singleRadio.setSelected(true);
-                        singleChoice.setValue(pref.getSingle().orElse(null));
-                    } else if (pref.isRanked()) {
-                        rankedRadio.setSelected(true);
-                        Map<String, Integer> ranked = pref.getRanked();
-                        for (Map.Entry<String, Integer> entry : ranked.entrySet()) {
-                            if (entry.getValue() == 1 && rank1 != null) {
-                                rank1.setValue(entry.getKey());
-                            } else if (entry.getValue() == 2 && rank2 != null) {
-                                rank2.setValue(entry.getKey());
-                            } else if (entry.getValue() == 3 && rank3 != null) {
-                                rank3.setValue(entry.getKey());
-                            }
-                        }
-                    } else {
-                        noneRadio.setSelected(true);
-                        if (singleChoice != null) singleChoice.setValue(null);
-                        if (rank1 != null) rank1.setValue(null);
-                        if (rank2 != null) rank2.setValue(null);
-                        if (rank3 != null) rank3.setValue(null);
-                    }
-                }
-            }
+        for (DayPreferenceEditor editor : preferenceEditors) {
+            editor.load(employee.getPreference(editor.getDay()));
         }
     }
 
     private void saveCurrentEmployeePreferences() {
-        Employee selected = employeeTable.getSelectionModel().getSelectedItem();
-        if (selected == null) return;
-
-        for (javafx.scene.Node node : preferencesBox.getChildren()) {
-            if (node instanceof VBox) {
-                VBox dayBox = (VBox) node;
-                Day day = null;
-                RadioButton singleRadio = null;
-                RadioButton rankedRadio = null;
-                RadioButton noneRadio = null;
-                ComboBox<String> singleChoice = null;
-                ComboBox<String> rank1 = null;
-                ComboBox<String> rank2 = null;
-                ComboBox<String> rank3 = null;
-
-                for (javafx.scene.Node child : dayBox.getChildren()) {
-                    if (child instanceof Label && ((Label) child).getStyle().contains("bold")) {
-                        day = Day.valueOf(((Label) child).getText());
-                    } else if (child instanceof RadioButton) {
-                        RadioButton rb = (RadioButton) child;
-                        if (rb.getText().equals("Single Preference")) {
-                            singleRadio = rb;
-                        } else if (rb.getText().equals("Ranked Preferences")) {
-                            rankedRadio = rb;
-                        } else if (rb.getText().equals("No Preference")) {
-                            noneRadio = rb;
-                        }
-                    } else if (child instanceof ComboBox) {
-                        singleChoice = (ComboBox<String>) child;
-                    } else if (child instanceof HBox) {
-                        HBox rankedBox = (HBox) child;
-                        int comboIndex = 0;
-                        for (javafx.scene.Node rankedChild : rankedBox.getChildren()) {
-                            if (rankedChild instanceof ComboBox) {
-                                if (comboIndex == 0) rank1 = (ComboBox<String>) rankedChild;
-                                else if (comboIndex == 1) rank2 = (ComboBox<String>) rankedChild;
-                                else if (comboIndex == 2) rank3 = (ComboBox<String>) rankedChild;
-                                comboIndex++;
-                            }
-                        }
-                    }
-                }
-
-                if (day != null) {
-                    Preference pref = new Preference();
-
-                    if (singleRadio != null && singleRadio.isSelected() && singleChoice != null && singleChoice.getValue() != null) {
-                        pref.setSingle(singleChoice.getValue());
-                    } else if (rankedRadio != null && rankedRadio.isSelected()) {
-                        Map<String, Integer> ranked = new HashMap<>();
-                        if (rank1 != null && rank1.getValue() != null) {
-                            ranked.put(rank1.getValue(), 1);
-                        }
-                        if (rank2 != null && rank2.getValue() != null) {
-                            ranked.put(rank2.getValue(), 2);
-                        }
-                        if (rank3 != null && rank3.getValue() != null) {
-                            ranked.put(rank3.getValue(), 3);
-                        }
-                        pref.setRanked(ranked);
-                    }
-
-                    selected.setPreference(day, pref);
-                }
+        Employee target = editingEmployee;
+        if (target == null) return;
+
+        boolean changed = false;
+        for (DayPreferenceEditor editor : preferenceEditors) {
+            if (editor.isDirty()) {
+                Day day = editor.getDay();
+                target.setPreference(day, editor.commit());
+                journalEdit(j -> j.recordPreference(target, day));
+                changed = true;
             }
         }
+
+        if (changed) {
+            searchIndex.update(target);
+            refreshSearchFilter();
+        }
     }
 
     @FXML
@@ -308,6 +225,7 @@ public class MainController {
             if (!name.trim().isEmpty()) {
                 Employee emp = new Employee(name.trim());
                 employees.add(emp);
+                journalEdit(j -> j.recordAdd(emp));
             }
         });
     }
@@ -329,7 +247,10 @@ public class MainController {
         result.ifPresent(name -> {
             if (!name.trim().isEmpty()) {
                 selected.setName(name.trim());
+                searchIndex.update(selected);
+                refreshSearchFilter();
                 employeeTable.refresh();
+                journalEdit(j -> j.recordRename(selected));
             }
         });
     }
@@ -349,7 +270,11 @@ public class MainController {
 
         Optional<ButtonType> result = confirm.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
+            if (selected == editingEmployee) {
+                editingEmployee = null;
+            }
             employees.remove(selected);
+            journalEdit(j -> j.recordDelete(selected));
         }
     }
 
@@ -363,21 +288,29 @@ public class MainController {
         }
 
         try {
-            long seed = Long.parseLong(seedField.getText().trim());
-            SchedulerService service = new SchedulerService(seed);
-            currentResult = service.generateSchedule(new ArrayList<>(employees));
-
-            displaySchedule(currentResult.getSchedule());
-            displayMetrics(currentResult.getStats());
-            displayLogs(currentResult.getLogs());
-
+            regenerateSchedule(Long.parseLong(seedField.getText().trim()));
             tabPane.getSelectionModel().select(1);
         } catch (NumberFormatException e) {
             showAlert("Invalid Seed", "Please enter a valid number for the random seed.");
         }
     }
 
-    private void displaySchedule(Schedule schedule) {
+    private void regenerateSchedule(long seed) {
+        scheduleService = new SchedulerService(seed);
+        boolean hadResult = currentResult != null;
+        currentResult = scheduleService.generateSchedule(RosterView.of(new ArrayList<>(employees)), solverWorkspace);
+        scheduleEditor = scheduleService.edit(currentResult.getSchedule());
+        ScheduleSnapshot previous = schedulePublisher.current();
+        ScheduleSnapshot published = schedulePublisher.publish(currentResult.getSchedule());
+
+        // Highlight what moved since the last run; the first run has nothing to compare
+        ScheduleDiff diff = !hadResult ? null : ScheduleDiff.compute(previous, published);
+        displaySchedule(currentResult.getSchedule(), diff);
+        displayMetrics(currentResult.getStats(), currentResult.stageTimings());
+        displayLogs(currentResult.getLogs());
+    }
+
+    private void displaySchedule(ScheduleView schedule, ScheduleDiff diff) {
         scheduleGrid.getChildren().clear();
         scheduleGrid.setStyle("-fx-padding: 10; -fx-border-color: #cccccc; -fx-border-width: 1; -fx-background-color: white;");
 
@@ -407,16 +340,106 @@ public class MainController {
                 Shift shift = shifts[shiftIdx];
                 List<String> assigned = schedule.getAssignedEmployees(day, shift);
 
-                String employeeText = String.join(", ", assigned);
-                Label cell = new Label(employeeText);
-                cell.setWrapText(true);
-                cell.setStyle("-fx-border-color: #cccccc; -fx-border-width: 1; -fx-padding: 8; -fx-min-width: 100; -fx-min-height: 60; -fx-background-color: white;");
+                VBox cell = new VBox(2);
+                for (String name : assigned) {
+                    cell.getChildren().add(createAssignmentLabel(day, shift, name));
+                }
+
+                String background = "white";
+                if (scheduleEditor != null && scheduleEditor.isUnderstaffed(day, shift)) {
+                    background = "#f8d7da";
+                } else if (diff != null && diff.isCellChanged(day, shift)) {
+                    background = "#fff3cd";
+                }
+                cell.setStyle("-fx-border-color: #cccccc; -fx-border-width: 1; -fx-padding: 8; -fx-min-width: 100; -fx-min-height: 60; -fx-background-color: " + background + ";");
+                installDropTarget(cell, day, shift);
                 scheduleGrid.add(cell, dayIdx + 1, shiftIdx + 1);
             }
         }
     }
 
-    private void displayMetrics(Map<String, Double> stats) {
+    private Label createAssignmentLabel(Day day, Shift shift, String name) {
+        Label label = new Label(name);
+        if (scheduleEditor != null
+                && (scheduleEditor.isDoubleBooked(name, day) || scheduleEditor.isOverworked(name))) {
+            label.setStyle("-fx-text-fill: #c62828; -fx-font-weight: bold;");
+        }
+
+        // The explanation is only looked up when someone hovers over the name
+        label.setOnMouseEntered(event -> {
+            if (label.getTooltip() == null && currentResult != null) {
+                label.setTooltip(new Tooltip(currentResult.placements().explain(name, day)));
+            }
+        });
+
+        label.setOnDragDetected(event -> {
+            if (scheduleEditor == null) {
+                return;
+            }
+            Dragboard dragboard = label.startDragAndDrop(TransferMode.MOVE);
+            ClipboardContent content = new ClipboardContent();
+            content.putString(day + "|" + shift + "|" + name);
+            dragboard.setContent(content);
+            event.consume();
+        });
+        return label;
+    }
+
+    private void installDropTarget(VBox cell, Day toDay, Shift toShift) {
+        cell.setOnDragOver(event -> {
+            if (isScheduleDrag(event)) {
+                event.acceptTransferModes(TransferMode.MOVE);
+            }
+            event.consume();
+        });
+
+        cell.setOnDragDropped(event -> {
+            if (!isScheduleDrag(event)) {
+                event.setDropCompleted(false);
+                event.consume();
+                return;
+            }
+
+            String[] parts = event.getDragboard().getString().split("\\|", 3);
+            boolean valid;
+            Day fromDay;
+            Shift fromShift;
+            String name;
+            try {
+                fromDay = Day.valueOf(parts[0]);
+                fromShift = Shift.valueOf(parts[1]);
+                name = parts[2];
+                valid = scheduleEditor.move(name, fromDay, fromShift, toDay, toShift);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                event.setDropCompleted(false);
+                event.consume();
+                return;
+            }
+
+            // The exported result must describe the edited schedule, not the solver's
+            schedulePublisher.publish(scheduleEditor);
+            scheduleService.refreshStats(currentResult, RosterView.of(new ArrayList<>(employees)));
+            displayMetrics(currentResult.getStats(), currentResult.stageTimings());
+            logsArea.appendText(String.format("%nEDIT: Moved %s from %s %s to %s %s%s", name,
+                fromDay, fromShift, toDay, toShift, valid ? "" : " (" + scheduleEditor.getViolationCount() + " violations)"));
+
+            event.setDropCompleted(true);
+            event.consume();
+            // Rebuild after the drag gesture finishes so the source label is not removed mid-event
+            Platform.runLater(() -> displaySchedule(scheduleEditor, null));
+        });
+    }
+
+    // Only names dragged out of this grid are moves; text dragged in from elsewhere is ignored
+    private boolean isScheduleDrag(DragEvent event) {
+        return scheduleEditor != null
+            && event.getGestureSource() instanceof Label source
+            && source.getParent() != null
+            && source.getParent().getParent() == scheduleGrid
+            && event.getDragboard().hasString();
+    }
+
+    private void displayMetrics(Map<String, Double> stats, Map<String, Double> stageTimings) {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("Total Assignments: %.0f\n", stats.getOrDefault("totalAssignments", 0.0)));
         sb.append(String.format("First Choice: %.0f (%.1f%%)\n",
@@ -429,6 +452,15 @@ public class MainController {
             stats.getOrDefault("thirdChoice", 0.0),
             stats.getOrDefault("thirdChoicePct", 0.0)));
         sb.append(String.format("Backfills: %.0f\n", stats.getOrDefault("backfills", 0.0)));
+        sb.append(String.format("First Choice Upper Bound: %.0f (gap %.0f)\n",
+            stats.getOrDefault("firstChoiceBound", 0.0),
+            stats.getOrDefault("firstChoiceGap", 0.0)));
+
+        StringJoiner stages = new StringJoiner(", ", "Stage Timings: ", "\n");
+        stageTimings.forEach((stage, millis) -> stages.add(String.format("%s %.2f ms", stage, millis)));
+        if (!stageTimings.isEmpty()) {
+            sb.append(stages);
+        }
 
         metricsArea.setText(sb.toString());
     }
@@ -449,7 +481,7 @@ public class MainController {
         if (file != null) {
             try {
                 List<Employee> imported = IOUtil.importEmployees(file);
-                employees.setAll(imported);
+                replaceRoster(imported);
                 showAlert("Success", "Employees imported successfully.");
             } catch (Exception e) {
                 showAlert("Error", "Failed to import employees: " + e.getMessage());
@@ -457,6 +489,102 @@ public class MainController {
         }
     }
 
+    @FXML
+    private void handleWatchRosterFile() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Watch Roster File");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("JSON Files", "*.json")
+        );
+
+        File file = fileChooser.showOpenDialog(employeeTable.getScene().getWindow());
+        if (file != null) {
+            stopWatchingRoster();
+            try {
+                rosterWatcher = RosterWatcher.start(file.toPath(), 500,
+                    change -> Platform.runLater(() -> applyRosterChange(change, file)));
+                replaceRoster(rosterWatcher.getRoster());
+                showAlert("Watching Roster", "Changes to " + file.getName()
+                    + " will be imported and the schedule regenerated automatically.");
+            } catch (IOException e) {
+                showAlert("Error", "Failed to watch roster file: " + e.getMessage());
+            }
+        }
+    }
+
+    @FXML
+    private void handleStopWatchingRoster() {
+        stopWatchingRoster();
+    }
+
+    private void stopWatchingRoster() {
+        if (rosterWatcher != null) {
+            try {
+                rosterWatcher.close();
+            } catch (IOException e) {
+                System.err.println("Failed to stop roster watcher: " + e.getMessage());
+            }
+            rosterWatcher = null;
+        }
+    }
+
+    private void applyRosterChange(RosterWatcher.RosterChange change, File rosterFile) {
+        saveCurrentEmployeePreferences();
+        editingEmployee = null;
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            positions.put(employees.get(i).getId(), i);
+        }
+
+        // Only touched rows are replaced, so the search index and journal see just the delta
+        for (Employee updated : change.getUpdated()) {
+            Integer index = positions.get(updated.getId());
+            if (index == null) {
+                employees.add(updated);
+                journalEdit(j -> j.recordAdd(updated));
+                continue;
+            }
+            employees.set(index, updated);
+            journalEdit(j -> {
+                j.recordRename(updated);
+                for (Day day : Day.values()) {
+                    j.recordPreference(updated, day);
+                }
+            });
+        }
+
+        Set<String> removedIds = new HashSet<>();
+        for (Employee removed : change.getRemoved()) {
+            removedIds.add(removed.getId());
+            journalEdit(j -> j.recordDelete(removed));
+        }
+        if (!removedIds.isEmpty()) {
+            employees.removeIf(employee -> removedIds.contains(employee.getId()));
+        }
+
+        for (Employee added : change.getAdded()) {
+            employees.add(added);
+            journalEdit(j -> j.recordAdd(added));
+        }
+
+        if (employees.isEmpty()) {
+            return;
+        }
+
+        try {
+            regenerateSchedule(Long.parseLong(seedField.getText().trim()));
+            File export = new File(rosterFile.getParentFile(), "schedule.csv");
+            IOUtil.exportScheduleCSV(schedulePublisher.current(), export);
+            logsArea.appendText(String.format("%nWATCH: %d added, %d updated, %d removed; exported %s",
+                change.getAdded().size(), change.getUpdated().size(), change.getRemoved().size(), export.getName()));
+        } catch (NumberFormatException e) {
+            logsArea.appendText("\nWATCH: roster updated; enter a valid seed to regenerate");
+        } catch (IOException e) {
+            logsArea.appendText("\nWATCH: export failed: " + e.getMessage());
+        }
+    }
+
     @FXML
     private void handleExportEmployees() {
         saveCurrentEmployeePreferences();
@@ -479,6 +607,48 @@ public class MainController {
         }
     }
 
+    @FXML
+    private void handleOpenRosterSnapshot() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Open Roster Snapshot");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("Roster Snapshots", "*.roster")
+        );
+
+        File file = fileChooser.showOpenDialog(employeeTable.getScene().getWindow());
+        if (file != null) {
+            try {
+                List<Employee> loaded = SnapshotUtil.readEmployees(file);
+                replaceRoster(loaded);
+                showAlert("Success", "Roster snapshot loaded successfully.");
+            } catch (Exception e) {
+                showAlert("Error", "Failed to load roster snapshot: " + e.getMessage());
+            }
+        }
+    }
+
+    @FXML
+    private void handleSaveRosterSnapshot() {
+        saveCurrentEmployeePreferences();
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Roster Snapshot");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("Roster Snapshots", "*.roster")
+        );
+        fileChooser.setInitialFileName("employees.roster");
+
+        File file = fileChooser.showSaveDialog(employeeTable.getScene().getWindow());
+        if (file != null) {
+            try {
+                SnapshotUtil.writeEmployees(new ArrayList<>(employees), file);
+                showAlert("Success", "Roster snapshot saved successfully.");
+            } catch (Exception e) {
+                showAlert("Error", "Failed to save roster snapshot: " + e.getMessage());
+            }
+        }
+    }
+
     @FXML
     private void handleExportScheduleJSON() {
         if (currentResult == null) {
@@ -521,7 +691,7 @@ public class MainController {
         File file = fileChooser.showSaveDialog(scheduleGrid.getScene().getWindow());
         if (file != null) {
             try {
-                IOUtil.exportScheduleCSV(currentResult.getSchedule(), file);
+                IOUtil.exportScheduleCSV(schedulePublisher.current(), file);
                 showAlert("Success", "Schedule exported successfully.");
             } catch (Exception e) {
                 showAlert("Error", "Failed to export schedule: " + e.getMessage());
@@ -529,6 +699,70 @@ public class MainController {
         }
     }
 
+    @FXML
+    private void handleExportEmployeeCalendars() {
+        if (currentResult == null) {
+            showAlert("No Schedule", "Please generate a schedule first.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Employee Calendars");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("ZIP Files", "*.zip")
+        );
+        fileChooser.setInitialFileName("employee_calendars.zip");
+
+        File file = fileChooser.showSaveDialog(scheduleGrid.getScene().getWindow());
+        if (file != null) {
+            // Calendars cover the coming week, starting on its Monday. The published snapshot is
+            // immutable, so it can be written out in the background while edits continue.
+            LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+            EmployeeCalendarExporter.exportToZipAsync(schedulePublisher.current(), weekStart,
+                EmployeeCalendarExporter.Format.ICS, file.toPath()).whenComplete((count, error) ->
+                Platform.runLater(() -> {
+                    if (error == null) {
+                        showAlert("Success", String.format("Exported calendars for %d employees.", count));
+                    } else {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        showAlert("Error", "Failed to export calendars: " + cause.getMessage());
+                    }
+                }));
+        }
+    }
+
+    @FXML
+    private void handleArchiveToHistory() {
+        if (currentResult == null) {
+            showAlert("No Schedule", "Please generate a schedule first.");
+            return;
+        }
+
+        try {
+            if (history == null) {
+                history = ScheduleHistoryStore.open(ScheduleHistoryStore.defaultDirectory());
+            }
+            // Archived under the coming week's Monday, like the calendar export; re-archiving replaces it
+            LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+            history.append(weekStart, schedulePublisher.current(), currentResult.placements());
+
+            Map<String, Integer> backfills = history.countPerEmployee(PlacementSource.BACKFILL,
+                weekStart.minusWeeks(51), weekStart);
+            StringBuilder message = new StringBuilder(
+                String.format("Archived week of %s (%d weeks stored).", weekStart, history.weeks().size()));
+            if (!backfills.isEmpty()) {
+                message.append("\n\nMost backfilled over the last 52 weeks:");
+                backfills.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(5)
+                    .forEach(e -> message.append(String.format("%n  %s: %d", e.getKey(), e.getValue())));
+            }
+            showAlert("Success", message.toString());
+        } catch (IOException e) {
+            showAlert("Error", "Failed to archive schedule: " + e.getMessage());
+        }
+    }
+
     @FXML
     private void handleSaveSchedulePNG() {
         if (currentResult == null) {
@@ -545,18 +779,24 @@ public class MainController {
 
         File file = fileChooser.showSaveDialog(scheduleGrid.getScene().getWindow());
         if (file != null) {
-            try {
-                TableSnapshotUtil.saveNodeAsPNG(scheduleGrid, file);
-                showAlert("Success", "Schedule saved as PNG successfully.");
-            } catch (Exception e) {
-                showAlert("Error", "Failed to save schedule: " + e.getMessage());
-            }
+            // Encoding runs in the background; the grid is snapshotted band by band on this thread
+            TableSnapshotUtil.saveNodeAsPNG(scheduleGrid, file).whenComplete((saved, error) ->
+                Platform.runLater(() -> {
+                    if (error == null) {
+                        showAlert("Success", "Schedule saved as PNG successfully.");
+                    } else {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        showAlert("Error", "Failed to save schedule: " + cause.getMessage());
+                    }
+                }));
         }
     }
 
     @FXML
     private void handleResetSchedule() {
         currentResult = null;
+        scheduleEditor = null;
+        schedulePublisher.publish(ScheduleSnapshot.EMPTY_SCHEDULE);
         scheduleGrid.getChildren().clear();
         metricsArea.clear();
         logsArea.clear();
@@ -566,7 +806,7 @@ public class MainController {
     private void handleLoadSampleData() {
         try {
             List<Employee> sampleData = IOUtil.loadSampleData();
-            employees.setAll(sampleData);
+            replaceRoster(sampleData);
             showAlert("Success", "Sample data loaded successfully.");
         } catch (Exception e) {
             showAlert("Error", "Failed to load sample data: " + e.getMessage());
@@ -575,6 +815,7 @@ public class MainController {
 
     @FXML
     private void handleExit() {
+        shutdown();
         System.exit(0);
     }
 
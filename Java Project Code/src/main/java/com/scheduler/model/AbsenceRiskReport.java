@@ -0,0 +1,50 @@
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AbsenceRiskReport {
+    private final int scenarios;
+    private final long[] shortfallCounts;
+
+    public AbsenceRiskReport(int scenarios, long[] shortfallCounts) {
+        this.scenarios = scenarios;
+        this.shortfallCounts = shortfallCounts.clone();
+    }
+
+    public int getScenarios() {
+        return scenarios;
+    }
+
+    public double getShortfallProbability(Day day, Shift shift) {
+        if (scenarios == 0) {
+            return 0.0;
+        }
+        return (double) shortfallCounts[day.ordinal() * Shift.values().length + shift.ordinal()] / scenarios;
+    }
+
+    public double getWorstProbability() {
+        double worst = 0.0;
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                worst = Math.max(worst, getShortfallProbability(day, shift));
+            }
+        }
+        return worst;
+    }
+
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Simulated %d absence scenarios", scenarios));
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                double probability = getShortfallProbability(day, shift);
+                if (probability > 0) {
+                    lines.add(String.format("RISK: %s %s understaffed in %.1f%% of scenarios",
+                        day, shift, probability * 100));
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -1,20 +1,20 @@
 package com.scheduler.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.UUID;
 
 public class Employee {
+    private static final Day[] DAYS = Day.values();
+
     private String id;
     private String name;
-    private Map<Day, Preference> preferences;
+    private final Preference[] preferences = new Preference[DAYS.length];
 
     public Employee() {
-        this.id = UUID.randomUUID().toString();
-        this.preferences = new HashMap<>();
-        for (Day day : Day.values()) {
-            preferences.put(day, new Preference());
-        }
+        Arrays.fill(preferences, Preference.NONE);
     }
 
     public Employee(String name) {
@@ -23,9 +23,18 @@ public class Employee {
     }
 
     public String getId() {
+        // Generated on first use so imported employees never pay for a throwaway UUID
+        if (id == null) {
+            id = UUID.randomUUID().toString();
+        }
         return id;
     }
 
+    // False for an employee read from JSON without an id, until getId() generates one
+    public boolean hasId() {
+        return id != null;
+    }
+
     public void setId(String id) {
         this.id = id;
     }
@@ -39,18 +48,27 @@ public class Employee {
     }
 
     public Map<Day, Preference> getPreferences() {
-        return preferences;
+        Map<Day, Preference> view = new EnumMap<>(Day.class);
+        for (Day day : DAYS) {
+            view.put(day, preferences[day.ordinal()]);
+        }
+        return Collections.unmodifiableMap(view);
     }
 
     public void setPreferences(Map<Day, Preference> preferences) {
-        this.preferences = preferences != null ? preferences : new HashMap<>();
+        Arrays.fill(this.preferences, Preference.NONE);
+        if (preferences != null) {
+            for (Map.Entry<Day, Preference> entry : preferences.entrySet()) {
+                setPreference(entry.getKey(), entry.getValue());
+            }
+        }
     }
 
     public Preference getPreference(Day day) {
-        return preferences.computeIfAbsent(day, k -> new Preference());
+        return preferences[day.ordinal()];
     }
 
     public void setPreference(Day day, Preference preference) {
-        preferences.put(day, preference);
+        preferences[day.ordinal()] = preference != null ? Preference.canonical(preference) : Preference.NONE;
     }
 }
@@ -0,0 +1,75 @@
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class FeasibilityReport {
+    private final int requiredSlots;
+    private final int coverableSlots;
+    private final Map<Day, Map<Shift, Integer>> shortfalls;
+
+    public FeasibilityReport(int requiredSlots, int coverableSlots, Map<Day, Map<Shift, Integer>> shortfalls) {
+        this.requiredSlots = requiredSlots;
+        this.coverableSlots = coverableSlots;
+        this.shortfalls = shortfalls;
+    }
+
+    public boolean isFeasible() {
+        return coverableSlots >= requiredSlots;
+    }
+
+    public int getRequiredSlots() {
+        return requiredSlots;
+    }
+
+    public int getCoverableSlots() {
+        return coverableSlots;
+    }
+
+    public int getTotalShortfall() {
+        return requiredSlots - coverableSlots;
+    }
+
+    public int getShortfall(Day day, Shift shift) {
+        Map<Shift, Integer> dayShortfalls = shortfalls.get(day);
+        if (dayShortfalls == null) {
+            return 0;
+        }
+        return dayShortfalls.getOrDefault(shift, 0);
+    }
+
+    public Map<Day, Map<Shift, Integer>> getShortfalls() {
+        return shortfalls;
+    }
+
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        if (isFeasible()) {
+            lines.add(String.format("Feasible: %d of %d required slots can be covered",
+                coverableSlots, requiredSlots));
+            return lines;
+        }
+
+        lines.add(String.format("INFEASIBLE: only %d of %d required slots can be covered (short by %d)",
+            coverableSlots, requiredSlots, getTotalShortfall()));
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                int missing = getShortfall(day, shift);
+                if (missing > 0) {
+                    lines.add(String.format("SHORTFALL: %s %s short by %d", day, shift, missing));
+                }
+            }
+        }
+        return lines;
+    }
+
+    public static Map<Day, Map<Shift, Integer>> emptyShortfalls() {
+        Map<Day, Map<Shift, Integer>> shortfalls = new EnumMap<>(Day.class);
+        for (Day day : Day.values()) {
+            shortfalls.put(day, new EnumMap<>(Shift.class));
+        }
+        return shortfalls;
+    }
+}
@@ -0,0 +1,295 @@
+package com.scheduler.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Roster kept in direct (off-heap) buffers for very large batch runs. Each employee is a
+// fixed 32-byte record: id and name as (offset, length) into a shared UTF-8 string area,
+// then one packed Preference code per day. Names are indexed by an off-heap open-addressing
+// table, so the Java heap holds only a few buffer objects however large the roster grows.
+public class OffHeapRoster implements RosterView {
+    static final int RECORD_BYTES = 32;
+    private static final int ID_OFFSET = 0;
+    private static final int NAME_OFFSET = 8;
+    private static final int PREFS_OFFSET = 16;
+    private static final int EMPTY_SLOT = -1;
+
+    private static final Day[] DAYS = Day.values();
+
+    private ByteBuffer records;
+    private ByteBuffer strings;
+    private ByteBuffer nameSlots;
+    private int size;
+    private long version;
+
+    public OffHeapRoster(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.records = ByteBuffer.allocateDirect(capacity * RECORD_BYTES);
+        this.strings = ByteBuffer.allocateDirect(capacity * 24);
+        this.nameSlots = emptySlots(tableSize(capacity));
+    }
+
+    public static OffHeapRoster from(List<Employee> employees) {
+        OffHeapRoster roster = new OffHeapRoster(employees.size());
+        for (Employee employee : employees) {
+            roster.add(employee);
+        }
+        return roster;
+    }
+
+    public int add(Employee employee) {
+        int index = add(employee.getId(), employee.getName());
+        for (Day day : DAYS) {
+            setPreference(index, day, employee.getPreference(day));
+        }
+        return index;
+    }
+
+    public int add(String id, String name) {
+        ensureRecordCapacity(size + 1);
+
+        int base = size * RECORD_BYTES;
+        putString(base + ID_OFFSET, id);
+        putString(base + NAME_OFFSET, name);
+        for (Day day : DAYS) {
+            records.putShort(base + PREFS_OFFSET + day.ordinal() * 2, (short) Preference.NONE.packed());
+        }
+
+        int index = size++;
+        if (name != null) {
+            insertName(index);
+        }
+        version++;
+        return index;
+    }
+
+    public void setPreference(int index, Day day, Preference preference) {
+        checkIndex(index);
+        records.putShort(index * RECORD_BYTES + PREFS_OFFSET + day.ordinal() * 2, (short) preference.packed());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String nameAt(int index) {
+        checkIndex(index);
+        return getString(index * RECORD_BYTES + NAME_OFFSET);
+    }
+
+    public String idAt(int index) {
+        checkIndex(index);
+        return getString(index * RECORD_BYTES + ID_OFFSET);
+    }
+
+    @Override
+    public Preference preferenceAt(int index, Day day) {
+        checkIndex(index);
+        int code = records.getShort(index * RECORD_BYTES + PREFS_OFFSET + day.ordinal() * 2) & 0xFFFF;
+        return Preference.fromPacked(code);
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int mask = nameSlots.capacity() / 4 - 1;
+        for (int slot = hash(bytes) & mask; ; slot = (slot + 1) & mask) {
+            int index = nameSlots.getInt(slot * 4);
+            if (index == EMPTY_SLOT) {
+                return -1;
+            }
+            if (nameEquals(index, bytes)) {
+                return index;
+            }
+        }
+    }
+
+    // Resolved from the name bytes in place, so no String is created
+    @Override
+    public int firstIndexOf(int index) {
+        checkIndex(index);
+        int recordPos = index * RECORD_BYTES + NAME_OFFSET;
+        int offset = records.getInt(recordPos);
+        if (offset < 0) {
+            return index;
+        }
+        int length = records.getInt(recordPos + 4);
+        int mask = nameSlots.capacity() / 4 - 1;
+        for (int slot = hash(strings, offset, length) & mask; ; slot = (slot + 1) & mask) {
+            int candidate = nameSlots.getInt(slot * 4);
+            if (candidate == EMPTY_SLOT) {
+                return index;
+            }
+            if (nameEquals(candidate, offset, length)) {
+                return candidate;
+            }
+        }
+    }
+
+    public Employee toEmployee(int index) {
+        Employee employee = new Employee(nameAt(index));
+        employee.setId(idAt(index));
+        for (Day day : DAYS) {
+            employee.setPreference(day, preferenceAt(index, day));
+        }
+        return employee;
+    }
+
+    public long offHeapBytes() {
+        return (long) records.capacity() + strings.capacity() + nameSlots.capacity();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for roster of " + size);
+        }
+    }
+
+    private void putString(int recordPos, String value) {
+        if (value == null) {
+            records.putInt(recordPos, -1);
+            records.putInt(recordPos + 4, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureStringCapacity(strings.position() + bytes.length);
+        records.putInt(recordPos, strings.position());
+        records.putInt(recordPos + 4, bytes.length);
+        strings.put(bytes);
+    }
+
+    private String getString(int recordPos) {
+        int offset = records.getInt(recordPos);
+        if (offset < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[records.getInt(recordPos + 4)];
+        strings.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean nameEquals(int index, byte[] bytes) {
+        int recordPos = index * RECORD_BYTES + NAME_OFFSET;
+        int offset = records.getInt(recordPos);
+        if (offset < 0 || records.getInt(recordPos + 4) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (strings.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean nameEquals(int index, int otherOffset, int length) {
+        int recordPos = index * RECORD_BYTES + NAME_OFFSET;
+        int offset = records.getInt(recordPos);
+        if (offset < 0 || records.getInt(recordPos + 4) != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (strings.get(offset + i) != strings.get(otherOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insertName(int index) {
+        if (size * 2 > nameSlots.capacity() / 4) {
+            rehash(tableSize(size * 2));
+        }
+        placeName(nameSlots, index);
+    }
+
+    private void placeName(ByteBuffer slots, int index) {
+        int recordPos = index * RECORD_BYTES + NAME_OFFSET;
+        int offset = records.getInt(recordPos);
+        byte[] bytes = new byte[records.getInt(recordPos + 4)];
+        strings.get(offset, bytes);
+
+        int mask = slots.capacity() / 4 - 1;
+        for (int slot = hash(bytes) & mask; ; slot = (slot + 1) & mask) {
+            int existing = slots.getInt(slot * 4);
+            if (existing == EMPTY_SLOT) {
+                slots.putInt(slot * 4, index);
+                return;
+            }
+            if (nameEquals(existing, bytes)) {
+                // Keep the first employee with a given name, matching the scheduler's lookups
+                return;
+            }
+        }
+    }
+
+    private void rehash(int slotCount) {
+        ByteBuffer fresh = emptySlots(slotCount);
+        for (int i = 0; i < size; i++) {
+            if (records.getInt(i * RECORD_BYTES + NAME_OFFSET) >= 0) {
+                placeName(fresh, i);
+            }
+        }
+        nameSlots = fresh;
+    }
+
+    private void ensureRecordCapacity(int count) {
+        if (count * RECORD_BYTES > records.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(count, size * 2) * RECORD_BYTES);
+            grown.put(records.duplicate().clear().limit(size * RECORD_BYTES));
+            records = grown;
+        }
+    }
+
+    private void ensureStringCapacity(int bytes) {
+        if (bytes > strings.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(bytes, strings.capacity() * 2));
+            grown.put(strings.duplicate().flip());
+            strings = grown;
+        }
+    }
+
+    private static ByteBuffer emptySlots(int slotCount) {
+        ByteBuffer slots = ByteBuffer.allocateDirect(slotCount * 4);
+        for (int i = 0; i < slotCount; i++) {
+            slots.putInt(i * 4, EMPTY_SLOT);
+        }
+        return slots;
+    }
+
+    private static int tableSize(int entries) {
+        int slots = 16;
+        while (slots < entries * 2) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = 1;
+        for (byte b : bytes) {
+            h = 31 * h + b;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Same hash as above, over bytes already in the string area
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + buffer.get(offset + i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,120 @@
+package com.scheduler.model;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+// Append-only off-heap store for many generated schedules. Each schedule is a block of
+// 22 cell offsets (prefix sums over the 7x3 cells) followed by the roster indexes of the
+// assigned employees, so millions of assignments cost four bytes each outside the heap.
+public class OffHeapScheduleStore {
+    private static final int CELLS = Day.values().length * Shift.values().length;
+    private static final int BLOCK_HEADER = CELLS + 1;
+
+    private IntBuffer data;
+    private int used;
+    private IntBuffer blockStarts;
+    private int count;
+
+    public OffHeapScheduleStore(int initialInts) {
+        this.data = ByteBuffer.allocateDirect(Math.max(64, initialInts) * 4).asIntBuffer();
+        this.blockStarts = ByteBuffer.allocateDirect(16 * 4).asIntBuffer();
+    }
+
+    public int append(Schedule schedule, OffHeapRoster roster) {
+        int assignments = 0;
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                assignments += schedule.getAssignedEmployees(day, shift).size();
+            }
+        }
+
+        ensureDataCapacity(used + BLOCK_HEADER + assignments);
+        ensureBlockCapacity(count + 1);
+
+        int start = used;
+        int cursor = start + BLOCK_HEADER;
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                data.put(start + cell(day, shift), cursor - start - BLOCK_HEADER);
+                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+                for (String name : assigned) {
+                    int index = roster.indexOf(name);
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Employee not in roster: " + name);
+                    }
+                    data.put(cursor++, index);
+                }
+            }
+        }
+        data.put(start + CELLS, cursor - start - BLOCK_HEADER);
+
+        used = cursor;
+        blockStarts.put(count, start);
+        return count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int countAt(int scheduleId, Day day, Shift shift) {
+        int start = blockStart(scheduleId);
+        int cell = cell(day, shift);
+        return data.get(start + cell + 1) - data.get(start + cell);
+    }
+
+    public int employeeAt(int scheduleId, Day day, Shift shift, int position) {
+        int start = blockStart(scheduleId);
+        int cell = cell(day, shift);
+        int from = data.get(start + cell);
+        if (position < 0 || from + position >= data.get(start + cell + 1)) {
+            throw new IndexOutOfBoundsException("No assignment " + position + " in " + day + " " + shift);
+        }
+        return data.get(start + BLOCK_HEADER + from + position);
+    }
+
+    public Schedule toSchedule(int scheduleId, RosterView roster) {
+        Schedule schedule = new Schedule();
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                int assigned = countAt(scheduleId, day, shift);
+                for (int i = 0; i < assigned; i++) {
+                    schedule.assignEmployee(day, shift, roster.nameAt(employeeAt(scheduleId, day, shift, i)));
+                }
+            }
+        }
+        return schedule;
+    }
+
+    public long offHeapBytes() {
+        return (long) data.capacity() * 4 + (long) blockStarts.capacity() * 4;
+    }
+
+    private int blockStart(int scheduleId) {
+        if (scheduleId < 0 || scheduleId >= count) {
+            throw new IndexOutOfBoundsException("No schedule " + scheduleId);
+        }
+        return blockStarts.get(scheduleId);
+    }
+
+    private static int cell(Day day, Shift shift) {
+        return day.ordinal() * Shift.values().length + shift.ordinal();
+    }
+
+    private void ensureDataCapacity(int ints) {
+        if (ints > data.capacity()) {
+            IntBuffer grown = ByteBuffer.allocateDirect(Math.max(ints, data.capacity() * 2) * 4).asIntBuffer();
+            grown.put(data.duplicate().clear().limit(used));
+            data = grown;
+        }
+    }
+
+    private void ensureBlockCapacity(int blocks) {
+        if (blocks > blockStarts.capacity()) {
+            IntBuffer grown = ByteBuffer.allocateDirect(blockStarts.capacity() * 2 * 4).asIntBuffer();
+            grown.put(blockStarts.duplicate().clear().limit(count));
+            blockStarts = grown;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Why each assignment exists, recorded by the solver as bytes indexed by employee id:
+// per (employee, day) the pass that placed them, the shift, and a detail (preference
+// rank, or the requested day for spillovers); per (employee, cell) the last reason the
+// placement check turned them away. The name lookup is only built on the first query.
+public class PlacementIndex {
+    private static final int DAYS = Day.values().length;
+    private static final int SHIFTS = Shift.values().length;
+    private static final PlacementSource[] SOURCES = PlacementSource.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    public static final PlacementIndex EMPTY = new PlacementIndex(new String[0], new byte[0], new byte[0],
+        new byte[0], new byte[0]);
+
+    private final String[] names;
+    private final byte[] sources;
+    private final byte[] shifts;
+    private final byte[] details;
+    private final byte[] rejections;
+    private volatile Map<String, Integer> ids;
+
+    public PlacementIndex(String[] names, byte[] sources, byte[] shifts, byte[] details, byte[] rejections) {
+        this.names = names;
+        this.sources = sources;
+        this.shifts = shifts;
+        this.details = details;
+        this.rejections = rejections;
+    }
+
+    public PlacementSource sourceOf(String employeeName, Day day) {
+        int id = idOf(employeeName);
+        if (id < 0 || sources[id * DAYS + day.ordinal()] == 0) {
+            return null;
+        }
+        return SOURCES[sources[id * DAYS + day.ordinal()] - 1];
+    }
+
+    public Shift shiftOf(String employeeName, Day day) {
+        return sourceOf(employeeName, day) == null ? null
+            : Shift.values()[shifts[idOf(employeeName) * DAYS + day.ordinal()]];
+    }
+
+    // Preference rank that was honoured; 0 for a single-shift preference or a non-preference placement
+    public int rankOf(String employeeName, Day day) {
+        return sourceOf(employeeName, day) == PlacementSource.PREFERENCE
+            ? details[idOf(employeeName) * DAYS + day.ordinal()] : 0;
+    }
+
+    public Day spilloverOrigin(String employeeName, Day day) {
+        return sourceOf(employeeName, day) == PlacementSource.SPILLOVER
+            ? Day.values()[details[idOf(employeeName) * DAYS + day.ordinal()]] : null;
+    }
+
+    public RejectionReason rejectionOf(String employeeName, Day day, Shift shift) {
+        int id = idOf(employeeName);
+        if (id < 0) {
+            return null;
+        }
+        int code = rejections[id * DAYS * SHIFTS + day.ordinal() * SHIFTS + shift.ordinal()];
+        return code == 0 ? null : REASONS[code - 1];
+    }
+
+    public String explain(String employeeName, Day day) {
+        PlacementSource source = sourceOf(employeeName, day);
+        if (source == null) {
+            return String.format("%s is not scheduled on %s%s", employeeName, day,
+                describeRejections(employeeName, day));
+        }
+
+        Shift shift = shiftOf(employeeName, day);
+        switch (source) {
+            case PREFERENCE:
+                int rank = rankOf(employeeName, day);
+                return String.format("%s works %s %s: %s", employeeName, day, shift,
+                    rank == 0 ? "single preference" : "preference rank " + rank);
+            case SAME_DAY_ALTERNATIVE:
+                return String.format("%s works %s %s: same-day alternative%s", employeeName, day, shift,
+                    describeRejections(employeeName, day));
+            case SPILLOVER:
+                Day origin = spilloverOrigin(employeeName, day);
+                return String.format("%s works %s %s: spillover from %s%s", employeeName, day, shift,
+                    origin, describeRejections(employeeName, origin));
+            default:
+                return String.format("%s works %s %s: backfilled to meet minimum staffing",
+                    employeeName, day, shift);
+        }
+    }
+
+    private String describeRejections(String employeeName, Day day) {
+        List<String> reasons = new ArrayList<>();
+        for (Shift shift : Shift.values()) {
+            RejectionReason reason = rejectionOf(employeeName, day, shift);
+            if (reason != null) {
+                reasons.add(day + " " + shift + " " + reason.name().toLowerCase().replace('_', ' '));
+            }
+        }
+        return reasons.isEmpty() ? "" : " (" + String.join("; ", reasons) + ")";
+    }
+
+    private int idOf(String employeeName) {
+        Map<String, Integer> lookup = ids;
+        if (lookup == null) {
+            lookup = new HashMap<>();
+            for (int id = 0; id < names.length; id++) {
+                lookup.putIfAbsent(names[id], id);
+            }
+            ids = lookup;
+        }
+        Integer id = lookup.get(employeeName);
+        return id == null ? -1 : id;
+    }
+}
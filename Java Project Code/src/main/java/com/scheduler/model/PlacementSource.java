@@ -0,0 +1,8 @@
+package com.scheduler.model;
+
+public enum PlacementSource {
+    PREFERENCE,
+    SAME_DAY_ALTERNATIVE,
+    SPILLOVER,
+    BACKFILL
+}
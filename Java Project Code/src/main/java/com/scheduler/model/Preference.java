@@ -1,48 +1,133 @@
 package com.scheduler.model;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+// A day's preference packed into a byte (single shift ordinal) and a short (4-bit rank per
+// shift). Employees store canonical frozen instances, so identical preferences share one object.
 public class Preference {
-    private String single;
-    private Map<String, Integer> ranked;
+    public static final int MAX_RANK = 15;
+
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int RANK_BITS = 4;
+    private static final byte NO_SINGLE = -1;
+    private static final Map<Integer, Preference> CANONICAL = new ConcurrentHashMap<>();
+
+    public static final Preference NONE = canonical(new Preference());
+
+    private byte single = NO_SINGLE;
+    private short ranks;
+    private boolean frozen;
 
     public Preference() {
-        this.ranked = new HashMap<>();
     }
 
     public Optional<String> getSingle() {
-        return Optional.ofNullable(single);
+        return single == NO_SINGLE ? Optional.empty() : Optional.of(SHIFTS[single].name());
     }
 
     public void setSingle(String single) {
-        this.single = single;
-        if (single != null) {
-            this.ranked.clear();
+        checkMutable();
+        if (single == null) {
+            this.single = NO_SINGLE;
+            return;
         }
+        this.single = (byte) parseShift(single).ordinal();
+        this.ranks = 0;
     }
 
     public Map<String, Integer> getRanked() {
-        return ranked;
+        if (ranks == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> ranked = new LinkedHashMap<>();
+        for (int rank = 1; rank <= MAX_RANK; rank++) {
+            for (Shift shift : SHIFTS) {
+                if (rankOf(shift) == rank) {
+                    ranked.put(shift.name(), rank);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(ranked);
     }
 
     public void setRanked(Map<String, Integer> ranked) {
-        this.ranked = ranked != null ? ranked : new HashMap<>();
-        if (this.ranked != null && !this.ranked.isEmpty()) {
-            this.single = null;
+        checkMutable();
+        int packed = 0;
+        if (ranked != null) {
+            for (Map.Entry<String, Integer> entry : ranked.entrySet()) {
+                int rank = entry.getValue();
+                if (rank < 1 || rank > MAX_RANK) {
+                    throw new IllegalArgumentException("Preference rank must be between 1 and " + MAX_RANK + ": " + rank);
+                }
+                int shift = parseShift(entry.getKey()).ordinal();
+                packed = (packed & ~(0xF << (shift * RANK_BITS))) | (rank << (shift * RANK_BITS));
+            }
+        }
+
+        this.ranks = (short) packed;
+        if (packed != 0) {
+            this.single = NO_SINGLE;
         }
     }
 
     public boolean hasPreference() {
-        return single != null || (ranked != null && !ranked.isEmpty());
+        return single != NO_SINGLE || ranks != 0;
     }
 
     public boolean isRanked() {
-        return ranked != null && !ranked.isEmpty();
+        return ranks != 0;
     }
 
     public boolean isSingle() {
-        return single != null;
+        return single != NO_SINGLE;
+    }
+
+    public Shift singleShift() {
+        return single == NO_SINGLE ? null : SHIFTS[single];
+    }
+
+    public int rankOf(Shift shift) {
+        return (ranks >>> (shift.ordinal() * RANK_BITS)) & 0xF;
+    }
+
+    public int packed() {
+        return ((single + 1) << (SHIFTS.length * RANK_BITS)) | (ranks & 0xFFFF);
+    }
+
+    public static Preference fromPacked(int code) {
+        Preference canonical = CANONICAL.get(code);
+        if (canonical != null) {
+            return canonical;
+        }
+
+        Preference pref = new Preference();
+        pref.single = (byte) ((code >>> (SHIFTS.length * RANK_BITS)) - 1);
+        pref.ranks = (short) (code & ((1 << (SHIFTS.length * RANK_BITS)) - 1));
+        return canonical(pref);
+    }
+
+    public static Preference canonical(Preference pref) {
+        if (pref.frozen) {
+            return pref;
+        }
+        return CANONICAL.computeIfAbsent(pref.packed(), code -> {
+            Preference copy = new Preference();
+            copy.single = pref.single;
+            copy.ranks = pref.ranks;
+            copy.frozen = true;
+            return copy;
+        });
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Shared preference instances are immutable");
+        }
+    }
+
+    private static Shift parseShift(String name) {
+        return Shift.valueOf(name.trim().toUpperCase());
     }
 }
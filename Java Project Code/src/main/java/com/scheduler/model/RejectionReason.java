@@ -0,0 +1,7 @@
+package com.scheduler.model;
+
+public enum RejectionReason {
+    ALREADY_SCHEDULED,
+    SHIFT_FULL,
+    MAX_DAYS_REACHED
+}
@@ -0,0 +1,71 @@
+package com.scheduler.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Read-only, index-based access to a roster. This is everything the scheduler needs,
+// so rosters that are not backed by Employee objects can be scheduled directly.
+public interface RosterView {
+    int size();
+
+    String nameAt(int index);
+
+    Preference preferenceAt(int index, Day day);
+
+    // First index holding this name, or -1. Entries that share a name are one employee to the scheduler.
+    default int indexOf(String name) {
+        for (int i = 0; i < size(); i++) {
+            if (Objects.equals(nameAt(i), name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // First index holding the same name as this entry
+    default int firstIndexOf(int index) {
+        int first = indexOf(nameAt(index));
+        return first < 0 ? index : first;
+    }
+
+    // Changes whenever an entry is added or renamed, so an unchanged roster can be recognised
+    // without reading its names; -1 if the roster does not track changes
+    default long version() {
+        return -1;
+    }
+
+    // Names are indexed on the first lookup, so take a fresh view after the list changes
+    static RosterView of(List<Employee> employees) {
+        return new RosterView() {
+            private Map<String, Integer> firstIndexes;
+
+            @Override
+            public int size() {
+                return employees.size();
+            }
+
+            @Override
+            public String nameAt(int index) {
+                return employees.get(index).getName();
+            }
+
+            @Override
+            public Preference preferenceAt(int index, Day day) {
+                return employees.get(index).getPreference(day);
+            }
+
+            @Override
+            public int indexOf(String name) {
+                if (firstIndexes == null) {
+                    firstIndexes = new HashMap<>();
+                    for (int i = 0; i < employees.size(); i++) {
+                        firstIndexes.putIfAbsent(employees.get(i).getName(), i);
+                    }
+                }
+                return firstIndexes.getOrDefault(name, -1);
+            }
+        };
+    }
+}
@@ -5,7 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Schedule {
+public class Schedule implements ScheduleView {
     private Map<Day, Map<Shift, List<String>>> assignments;
 
     public Schedule() {
@@ -27,6 +27,7 @@ public class Schedule {
         this.assignments = assignments;
     }
 
+    @Override
     public List<String> getAssignedEmployees(Day day, Shift shift) {
         return assignments.get(day).get(shift);
     }
@@ -35,6 +36,7 @@ public class Schedule {
         assignments.get(day).get(shift).add(employeeName);
     }
 
+    @Override
     public boolean isEmployeeScheduled(Day day, String employeeName) {
         Map<Shift, List<String>> daySchedule = assignments.get(day);
         for (List<String> employees : daySchedule.values()) {
@@ -45,6 +47,10 @@ public class Schedule {
         return false;
     }
 
+    public ScheduleSnapshot snapshot() {
+        return ScheduleSnapshot.of(this);
+    }
+
     public void clear() {
         for (Day day : Day.values()) {
             for (Shift shift : Shift.values()) {
@@ -0,0 +1,55 @@
+package com.scheduler.model;
+
+public class ScheduleChange {
+    public enum Type {
+        ADDED,
+        REMOVED,
+        MOVED
+    }
+
+    private final Type type;
+    private final String employeeName;
+    private final Day day;
+    private final Shift fromShift;
+    private final Shift toShift;
+
+    public ScheduleChange(Type type, String employeeName, Day day, Shift fromShift, Shift toShift) {
+        this.type = type;
+        this.employeeName = employeeName;
+        this.day = day;
+        this.fromShift = fromShift;
+        this.toShift = toShift;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public Day getDay() {
+        return day;
+    }
+
+    public Shift getFromShift() {
+        return fromShift;
+    }
+
+    public Shift getToShift() {
+        return toShift;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case ADDED:
+                return String.format("%s added to %s %s", employeeName, day, toShift);
+            case REMOVED:
+                return String.format("%s removed from %s %s", employeeName, day, fromShift);
+            default:
+                return String.format("%s moved on %s from %s to %s", employeeName, day, fromShift, toShift);
+        }
+    }
+}
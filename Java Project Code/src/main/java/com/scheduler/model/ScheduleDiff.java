@@ -0,0 +1,125 @@
+package com.scheduler.model;
+
+import java.util.*;
+
+// Change set between two schedules. Cells shared between two snapshots are skipped by
+// identity, and other cells only get a per-name count when a plain comparison finds them
+// different; within a day, an employee leaving one shift and joining another is reported
+// as a single move.
+public class ScheduleDiff {
+    private static final Shift[] SHIFTS = Shift.values();
+
+    private final List<ScheduleChange> changes;
+    private final boolean[] changedCells;
+
+    private ScheduleDiff(List<ScheduleChange> changes, boolean[] changedCells) {
+        this.changes = changes;
+        this.changedCells = changedCells;
+    }
+
+    public static ScheduleDiff compute(ScheduleView before, ScheduleView after) {
+        List<ScheduleChange> changes = new ArrayList<>();
+        boolean[] changedCells = new boolean[Day.values().length * SHIFTS.length];
+
+        for (Day day : Day.values()) {
+            Map<String, Deque<Shift>> removed = new LinkedHashMap<>();
+            Map<String, Deque<Shift>> added = new LinkedHashMap<>();
+
+            for (Shift shift : SHIFTS) {
+                if (unchanged(before, after, day, shift)) {
+                    continue;
+                }
+
+                Map<String, Integer> counts = new HashMap<>();
+                for (String name : before.getAssignedEmployees(day, shift)) {
+                    counts.merge(name, 1, Integer::sum);
+                }
+                for (String name : after.getAssignedEmployees(day, shift)) {
+                    counts.merge(name, -1, Integer::sum);
+                }
+
+                boolean cellChanged = false;
+                for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                    int delta = entry.getValue();
+                    for (int i = 0; i < delta; i++) {
+                        removed.computeIfAbsent(entry.getKey(), k -> new ArrayDeque<>()).add(shift);
+                    }
+                    for (int i = 0; i < -delta; i++) {
+                        added.computeIfAbsent(entry.getKey(), k -> new ArrayDeque<>()).add(shift);
+                    }
+                    cellChanged |= delta != 0;
+                }
+                changedCells[cell(day, shift)] = cellChanged;
+            }
+
+            for (Map.Entry<String, Deque<Shift>> entry : removed.entrySet()) {
+                String name = entry.getKey();
+                Deque<Shift> joined = added.get(name);
+                for (Shift from : entry.getValue()) {
+                    if (joined != null && !joined.isEmpty()) {
+                        changes.add(new ScheduleChange(ScheduleChange.Type.MOVED, name, day, from, joined.poll()));
+                    } else {
+                        changes.add(new ScheduleChange(ScheduleChange.Type.REMOVED, name, day, from, null));
+                    }
+                }
+            }
+            for (Map.Entry<String, Deque<Shift>> entry : added.entrySet()) {
+                for (Shift to : entry.getValue()) {
+                    changes.add(new ScheduleChange(ScheduleChange.Type.ADDED, entry.getKey(), day, null, to));
+                }
+            }
+        }
+
+        return new ScheduleDiff(changes, changedCells);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public List<ScheduleChange> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    public boolean isCellChanged(Day day, Shift shift) {
+        return changedCells[cell(day, shift)];
+    }
+
+    public Map<String, List<ScheduleChange>> byEmployee() {
+        Map<String, List<ScheduleChange>> grouped = new LinkedHashMap<>();
+        for (ScheduleChange change : changes) {
+            grouped.computeIfAbsent(change.getEmployeeName(), k -> new ArrayList<>()).add(change);
+        }
+        return grouped;
+    }
+
+    public Set<String> affectedEmployees() {
+        return byEmployee().keySet();
+    }
+
+    private static boolean unchanged(ScheduleView before, ScheduleView after, Day day, Shift shift) {
+        if (before instanceof ScheduleSnapshot && after instanceof ScheduleSnapshot
+                && ((ScheduleSnapshot) after).sharesCell((ScheduleSnapshot) before, day, shift)) {
+            return true;
+        }
+
+        List<String> a = before.getAssignedEmployees(day, shift);
+        List<String> b = after.getAssignedEmployees(day, shift);
+        if (a.size() != b.size()) {
+            return false;
+        }
+        // A reshuffled cell still counts as unchanged
+        return a.equals(b) || sameCounts(a, b);
+    }
+
+    private static boolean sameCounts(List<String> a, List<String> b) {
+        Map<String, Integer> counts = new HashMap<>();
+        a.forEach(name -> counts.merge(name, 1, Integer::sum));
+        b.forEach(name -> counts.merge(name, -1, Integer::sum));
+        return counts.values().stream().allMatch(c -> c == 0);
+    }
+
+    private static int cell(Day day, Shift shift) {
+        return day.ordinal() * SHIFTS.length + shift.ordinal();
+    }
+}
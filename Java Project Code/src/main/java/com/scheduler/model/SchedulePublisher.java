@@ -0,0 +1,28 @@
+package com.scheduler.model;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+// Single point of publication for the current schedule. Readers take current() without
+// locking and keep a consistent view for as long as they hold it; writers swap in a new
+// snapshot atomically, retrying edits that raced with another writer.
+public class SchedulePublisher {
+    private final AtomicReference<ScheduleSnapshot> current =
+        new AtomicReference<>(ScheduleSnapshot.EMPTY_SCHEDULE);
+
+    public ScheduleSnapshot current() {
+        return current.get();
+    }
+
+    public ScheduleSnapshot publish(ScheduleView schedule) {
+        ScheduleSnapshot fresh = ScheduleSnapshot.of(schedule);
+        return current.updateAndGet(previous -> fresh.withVersion(previous.getVersion() + 1));
+    }
+
+    public ScheduleSnapshot update(UnaryOperator<ScheduleSnapshot> edit) {
+        return current.updateAndGet(previous -> {
+            ScheduleSnapshot next = edit.apply(previous);
+            return next == previous ? previous : next.withVersion(previous.getVersion() + 1);
+        });
+    }
+}
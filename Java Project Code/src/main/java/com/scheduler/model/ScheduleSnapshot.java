@@ -0,0 +1,115 @@
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable week grid. Every "with" method returns a new snapshot that copies only the
+// 21-slot cell table and the one cell it changes; all other cell lists are shared.
+public final class ScheduleSnapshot implements ScheduleView {
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int CELLS = Day.values().length * SHIFTS.length;
+    private static final List<String> EMPTY = Collections.emptyList();
+
+    public static final ScheduleSnapshot EMPTY_SCHEDULE = new ScheduleSnapshot(emptyCells(), 0);
+
+    private final List<String>[] cells;
+    private final long version;
+
+    private ScheduleSnapshot(List<String>[] cells, long version) {
+        this.cells = cells;
+        this.version = version;
+    }
+
+    public static ScheduleSnapshot of(ScheduleView schedule) {
+        List<String>[] cells = emptyCells();
+        for (Day day : Day.values()) {
+            for (Shift shift : SHIFTS) {
+                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+                if (!assigned.isEmpty()) {
+                    cells[cell(day, shift)] = Collections.unmodifiableList(new ArrayList<>(assigned));
+                }
+            }
+        }
+        return new ScheduleSnapshot(cells, 0);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public List<String> getAssignedEmployees(Day day, Shift shift) {
+        return cells[cell(day, shift)];
+    }
+
+    @Override
+    public boolean isEmployeeScheduled(Day day, String employeeName) {
+        for (Shift shift : SHIFTS) {
+            if (cells[cell(day, shift)].contains(employeeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public ScheduleSnapshot withAssignment(Day day, Shift shift, String employeeName) {
+        List<String> current = getAssignedEmployees(day, shift);
+        List<String> updated = new ArrayList<>(current.size() + 1);
+        updated.addAll(current);
+        updated.add(employeeName);
+        return replaceCell(day, shift, updated);
+    }
+
+    public ScheduleSnapshot withoutAssignment(Day day, Shift shift, String employeeName) {
+        List<String> current = getAssignedEmployees(day, shift);
+        if (!current.contains(employeeName)) {
+            return this;
+        }
+        List<String> updated = new ArrayList<>(current);
+        updated.remove(employeeName);
+        return replaceCell(day, shift, updated);
+    }
+
+    public ScheduleSnapshot withCell(Day day, Shift shift, List<String> employees) {
+        return replaceCell(day, shift, new ArrayList<>(employees));
+    }
+
+    private ScheduleSnapshot replaceCell(Day day, Shift shift, List<String> owned) {
+        List<String>[] copy = cells.clone();
+        copy[cell(day, shift)] = owned.isEmpty() ? EMPTY : Collections.unmodifiableList(owned);
+        return new ScheduleSnapshot(copy, version + 1);
+    }
+
+    ScheduleSnapshot withVersion(long version) {
+        return version == this.version ? this : new ScheduleSnapshot(cells, version);
+    }
+
+    public boolean sharesCell(ScheduleSnapshot other, Day day, Shift shift) {
+        return cells[cell(day, shift)] == other.cells[cell(day, shift)];
+    }
+
+    public Schedule toSchedule() {
+        Schedule schedule = new Schedule();
+        for (Day day : Day.values()) {
+            for (Shift shift : SHIFTS) {
+                schedule.getAssignedEmployees(day, shift).addAll(getAssignedEmployees(day, shift));
+            }
+        }
+        return schedule;
+    }
+
+    private static int cell(Day day, Shift shift) {
+        return day.ordinal() * SHIFTS.length + shift.ordinal();
+    }
+
+    // Java cannot create a generic array; a plain array keeps replaceCell a 21-slot clone
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<String>[] emptyCells() {
+        List<String>[] cells = new List[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = EMPTY;
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,10 @@
+package com.scheduler.model;
+
+import java.util.List;
+
+// Read access to a week grid, shared by the mutable Schedule and immutable ScheduleSnapshot.
+public interface ScheduleView {
+    List<String> getAssignedEmployees(Day day, Shift shift);
+
+    boolean isEmployeeScheduled(Day day, String employeeName);
+}
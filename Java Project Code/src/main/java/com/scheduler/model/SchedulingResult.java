@@ -9,6 +9,8 @@ public class SchedulingResult {
     private Schedule schedule;
     private Map<String, Double> stats;
     private List<String> logs;
+    private PlacementIndex placements = PlacementIndex.EMPTY;
+    private Map<String, Double> stageTimings = Map.of();
 
     public SchedulingResult() {
         this.schedule = new Schedule();
@@ -49,4 +51,22 @@ public class SchedulingResult {
     public void addLog(String message) {
         this.logs.add(message);
     }
+
+    // Not a bean property, so it stays out of the exported JSON
+    public PlacementIndex placements() {
+        return placements;
+    }
+
+    public void attachPlacements(PlacementIndex placements) {
+        this.placements = placements;
+    }
+
+    // Milliseconds per pipeline stage in run order; also kept out of the JSON, since it varies per run
+    public Map<String, Double> stageTimings() {
+        return stageTimings;
+    }
+
+    public void attachStageTimings(Map<String, Double> stageTimings) {
+        this.stageTimings = stageTimings;
+    }
 }
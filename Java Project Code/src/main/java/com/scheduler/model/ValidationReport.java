@@ -0,0 +1,120 @@
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Violations are packed into longs (type, day, shift, subject) and only expanded to text
+// by describe(), so a batch of thousands of reports stays small. The subject is a roster
+// index, an index into the unknown-name list, or a head count, depending on the type.
+public class ValidationReport {
+    public enum Type {
+        UNKNOWN_EMPLOYEE,
+        DOUBLE_SHIFT,
+        OVER_LIMIT,
+        UNDERSTAFFED
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final int NONE = 0xFF;
+
+    private final String source;
+    private final long[] violations;
+    private final List<String> rosterNames;
+    private final List<String> unknownNames;
+    private final String error;
+
+    public ValidationReport(String source, long[] violations, List<String> rosterNames, List<String> unknownNames) {
+        this(source, violations, rosterNames, unknownNames, null);
+    }
+
+    private ValidationReport(String source, long[] violations, List<String> rosterNames,
+                             List<String> unknownNames, String error) {
+        this.source = source;
+        this.violations = violations;
+        this.rosterNames = rosterNames;
+        this.unknownNames = unknownNames;
+        this.error = error;
+    }
+
+    public static ValidationReport unreadable(String source, String error) {
+        return new ValidationReport(source, new long[0], List.of(), List.of(), error);
+    }
+
+    public static long pack(Type type, Day day, Shift shift, int subject) {
+        return ((long) type.ordinal() << 48)
+            | ((long) (day == null ? NONE : day.ordinal()) << 40)
+            | ((long) (shift == null ? NONE : shift.ordinal()) << 32)
+            | (subject & 0xFFFFFFFFL);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isValid() {
+        return error == null && violations.length == 0;
+    }
+
+    public boolean isReadable() {
+        return error == null;
+    }
+
+    public int getViolationCount() {
+        return violations.length;
+    }
+
+    public int count(Type type) {
+        int count = 0;
+        for (long violation : violations) {
+            if (typeOf(violation) == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        if (error != null) {
+            lines.add(String.format("%s: UNREADABLE: %s", source, error));
+            return lines;
+        }
+        for (long violation : violations) {
+            Day day = dayOf(violation);
+            Shift shift = shiftOf(violation);
+            int subject = (int) violation;
+            switch (typeOf(violation)) {
+                case UNKNOWN_EMPLOYEE:
+                    lines.add(String.format("%s: UNKNOWN EMPLOYEE: %s on %s %s",
+                        source, unknownNames.get(subject), day, shift));
+                    break;
+                case DOUBLE_SHIFT:
+                    lines.add(String.format("%s: DOUBLE SHIFT: %s on %s (%s)",
+                        source, rosterNames.get(subject), day, shift));
+                    break;
+                case OVER_LIMIT:
+                    lines.add(String.format("%s: OVER LIMIT: %s exceeds the weekly day limit on %s",
+                        source, rosterNames.get(subject), day));
+                    break;
+                default:
+                    lines.add(String.format("%s: UNDERSTAFFED: %s %s has %d employees",
+                        source, day, shift, subject));
+            }
+        }
+        return lines;
+    }
+
+    private static Type typeOf(long violation) {
+        return TYPES[(int) (violation >>> 48)];
+    }
+
+    private static Day dayOf(long violation) {
+        int ordinal = (int) (violation >>> 40) & 0xFF;
+        return ordinal == NONE ? null : Day.values()[ordinal];
+    }
+
+    private static Shift shiftOf(long violation) {
+        int ordinal = (int) (violation >>> 32) & 0xFF;
+        return ordinal == NONE ? null : Shift.values()[ordinal];
+    }
+}
@@ -0,0 +1,44 @@
+package com.scheduler.service;
+
+import com.scheduler.model.Day;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Chance that an employee calls in sick on a given day. Per-employee rates replace the
+// base rate; per-day factors scale whichever rate applies (e.g. Mondays run higher).
+public class AbsenceModel {
+    private final double baseProbability;
+    private final Map<String, Double> employeeProbabilities = new HashMap<>();
+    private final Map<Day, Double> dayFactors = new EnumMap<>(Day.class);
+
+    public AbsenceModel(double baseProbability) {
+        this.baseProbability = checkProbability(baseProbability);
+    }
+
+    public AbsenceModel setEmployeeProbability(String employeeName, double probability) {
+        employeeProbabilities.put(employeeName, checkProbability(probability));
+        return this;
+    }
+
+    public AbsenceModel setDayFactor(Day day, double factor) {
+        if (factor < 0) {
+            throw new IllegalArgumentException("Day factor must not be negative: " + factor);
+        }
+        dayFactors.put(day, factor);
+        return this;
+    }
+
+    public double probability(String employeeName, Day day) {
+        double rate = employeeProbabilities.getOrDefault(employeeName, baseProbability);
+        return Math.min(1.0, rate * dayFactors.getOrDefault(day, 1.0));
+    }
+
+    private static double checkProbability(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+        return probability;
+    }
+}
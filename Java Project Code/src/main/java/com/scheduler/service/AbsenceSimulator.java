@@ -0,0 +1,247 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Monte Carlo estimate of how often each cell ends up understaffed once people call in
+// sick. The schedule is compiled once into flat int arrays; each worker thread owns a
+// workspace, so a scenario allocates nothing. Scenarios run in fixed-size blocks, each with
+// an RNG split from the seed in block order, so the estimate depends on the seed alone and
+// not on how many workers share the blocks. A scenario drops the absentees and repeats
+// only the backfill pass on what is left.
+class AbsenceSimulator {
+    static final int BLOCK_SCENARIOS = 1024;
+
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int DAYS = Day.values().length;
+    private static final int CELLS = DAYS * SHIFTS.length;
+
+    private final long seed;
+    private final int minPerShift;
+    private final int maxDaysPerEmp;
+    private final int parallelism;
+
+    AbsenceSimulator(long seed, int minPerShift, int maxDaysPerEmp, int parallelism) {
+        this.seed = seed;
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmp = maxDaysPerEmp;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    AbsenceRiskReport run(ScheduleView schedule, RosterView roster, AbsenceModel model, int scenarios) {
+        if (scenarios <= 0) {
+            throw new IllegalArgumentException("Scenario count must be positive: " + scenarios);
+        }
+
+        Compiled compiled = compile(schedule, roster, model);
+
+        int blocks = (scenarios + BLOCK_SCENARIOS - 1) / BLOCK_SCENARIOS;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            randoms[b] = root.split();
+        }
+
+        int workers = Math.min(parallelism, blocks);
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int first = w;
+            tasks.add(() -> {
+                Workspace workspace = new Workspace(compiled);
+                for (int b = first; b < blocks; b += workers) {
+                    int size = Math.min(BLOCK_SCENARIOS, scenarios - b * BLOCK_SCENARIOS);
+                    workspace.simulate(size, randoms[b]);
+                }
+                return workspace.shortfalls;
+            });
+        }
+
+        long[] shortfalls = new long[CELLS];
+        for (long[] partial : execute(tasks)) {
+            for (int c = 0; c < CELLS; c++) {
+                shortfalls[c] += partial[c];
+            }
+        }
+        return new AbsenceRiskReport(scenarios, shortfalls);
+    }
+
+    private Compiled compile(ScheduleView schedule, RosterView roster, AbsenceModel model) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < roster.size(); i++) {
+            String name = roster.nameAt(i);
+            if (index.putIfAbsent(name, names.size()) == null) {
+                names.add(name);
+            }
+        }
+        int rosterSize = names.size();
+
+        // Assignees missing from the roster still count toward coverage but never backfill
+        int[] cellStart = new int[CELLS + 1];
+        List<Integer> members = new ArrayList<>();
+        for (Day day : Day.values()) {
+            for (Shift shift : SHIFTS) {
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    Integer idx = index.get(name);
+                    if (idx == null) {
+                        idx = names.size();
+                        index.put(name, idx);
+                        names.add(name);
+                    }
+                    members.add(idx);
+                }
+                cellStart[cell(day, shift) + 1] = members.size();
+            }
+        }
+
+        Compiled compiled = new Compiled(names.size());
+        compiled.cellStart = cellStart;
+        compiled.members = members.stream().mapToInt(Integer::intValue).toArray();
+
+        for (Day day : Day.values()) {
+            int base = day.ordinal() * compiled.count;
+            for (Shift shift : SHIFTS) {
+                int c = cell(day, shift);
+                for (int m = cellStart[c]; m < cellStart[c + 1]; m++) {
+                    int idx = compiled.members[m];
+                    if (!compiled.scheduled[base + idx]) {
+                        compiled.scheduled[base + idx] = true;
+                        compiled.baseWork[idx]++;
+                    }
+                }
+            }
+            for (int idx = 0; idx < compiled.count; idx++) {
+                compiled.absence[base + idx] = model.probability(names.get(idx), day);
+            }
+        }
+        for (int idx = rosterSize; idx < compiled.count; idx++) {
+            compiled.baseWork[idx] = Integer.MAX_VALUE / 2;
+        }
+        return compiled;
+    }
+
+    private List<long[]> execute(List<Callable<long[]>> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<long[]> results = new ArrayList<>();
+            for (Future<long[]> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Absence simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Absence simulation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int cell(Day day, Shift shift) {
+        return day.ordinal() * SHIFTS.length + shift.ordinal();
+    }
+
+    // Read-only after compile; shared by all workers. Day-major flags are indexed day * count + employee.
+    private static class Compiled {
+        final int count;
+        final int[] baseWork;
+        final boolean[] scheduled;
+        final double[] absence;
+        int[] cellStart;
+        int[] members;
+
+        Compiled(int count) {
+            this.count = count;
+            this.baseWork = new int[count];
+            this.scheduled = new boolean[DAYS * count];
+            this.absence = new double[DAYS * count];
+        }
+    }
+
+    private class Workspace {
+        private final Compiled compiled;
+        private final int[] work;
+        private final boolean[] busy;
+        private final boolean[] absent;
+        private final int[] staffed = new int[CELLS];
+        private final long[] shortfalls = new long[CELLS];
+
+        Workspace(Compiled compiled) {
+            this.compiled = compiled;
+            this.work = new int[compiled.count];
+            this.busy = new boolean[DAYS * compiled.count];
+            this.absent = new boolean[DAYS * compiled.count];
+        }
+
+        void simulate(int scenarios, SplittableRandom random) {
+            for (int s = 0; s < scenarios; s++) {
+                runScenario(random);
+            }
+        }
+
+        private void runScenario(SplittableRandom random) {
+            int count = compiled.count;
+            System.arraycopy(compiled.baseWork, 0, work, 0, count);
+            System.arraycopy(compiled.scheduled, 0, busy, 0, busy.length);
+
+            for (int i = 0; i < absent.length; i++) {
+                absent[i] = random.nextDouble() < compiled.absence[i];
+                if (absent[i] && compiled.scheduled[i]) {
+                    work[i % count]--;
+                }
+            }
+
+            for (int d = 0; d < DAYS; d++) {
+                int base = d * count;
+                for (int s = 0; s < SHIFTS.length; s++) {
+                    int c = d * SHIFTS.length + s;
+                    int present = 0;
+                    for (int m = compiled.cellStart[c]; m < compiled.cellStart[c + 1]; m++) {
+                        if (!absent[base + compiled.members[m]]) {
+                            present++;
+                        }
+                    }
+
+                    while (present < minPerShift) {
+                        int pick = pickReplacement(base, random);
+                        if (pick < 0) {
+                            break;
+                        }
+                        busy[base + pick] = true;
+                        work[pick]++;
+                        present++;
+                    }
+                    staffed[c] = present;
+                }
+            }
+
+            for (int c = 0; c < CELLS; c++) {
+                if (staffed[c] < minPerShift) {
+                    shortfalls[c]++;
+                }
+            }
+        }
+
+        // Uniform pick among eligible employees by reservoir sampling, so no candidate list is built
+        private int pickReplacement(int base, SplittableRandom random) {
+            int pick = -1;
+            int seen = 0;
+            for (int idx = 0; idx < compiled.count; idx++) {
+                if (!busy[base + idx] && !absent[base + idx] && work[idx] < maxDaysPerEmp) {
+                    seen++;
+                    if (random.nextInt(seen) == 0) {
+                        pick = idx;
+                    }
+                }
+            }
+            return pick;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.scheduler.service;
+
+public enum BackfillMode {
+    SEQUENTIAL,
+    PARALLEL_BY_DAY,
+    LEAST_LOADED
+}
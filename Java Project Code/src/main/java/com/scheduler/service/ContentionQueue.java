@@ -0,0 +1,195 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.Arrays;
+
+// Orders preference requests most-constrained first. A request's key is how many of the
+// cells it lists are still open; keys only fall (when a listed cell fills), so requests
+// sit in doubly linked FIFO buckets 0..SHIFTS and move down in O(1). Before any placement,
+// requests are enqueued by the contention on their top choice, most contested first, so
+// ties within a bucket go to the requests fighting over busy cells. Every cell has the same
+// MIN_PER_SHIFT seats, so requests per seat orders the same as requests per cell.
+class ContentionQueue {
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int DAYS = Day.values().length;
+    private static final int CELLS = DAYS * SHIFTS.length;
+
+    private int[] requests = new int[0];
+    private int[] keys = new int[0];
+    private int[] topCells = new int[0];
+    private int[] prev = new int[0];
+    private int[] next = new int[0];
+    private int[] order = new int[0];
+    private int[] listings = new int[0];
+    private int[] counts = new int[0];
+    private final int[] cellStart = new int[CELLS + 1];
+    private final int[] heads = new int[SHIFTS.length + 1];
+    private final int[] tails = new int[SHIFTS.length + 1];
+    private int size;
+    private int pending;
+
+    void build(RosterView roster) {
+        int maxRequests = roster.size() * DAYS;
+        ensureCapacity(maxRequests);
+        Arrays.fill(cellStart, 0);
+
+        // Enumerate requests and count demand per cell
+        size = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            for (Day day : Day.values()) {
+                Preference pref = roster.preferenceAt(i, day);
+                int listed = listedShifts(pref);
+                if (listed == 0) {
+                    continue;
+                }
+                int r = size++;
+                requests[r] = i * DAYS + day.ordinal();
+                keys[r] = Integer.bitCount(listed);
+                topCells[r] = day.ordinal() * SHIFTS.length + topChoice(pref);
+                for (int s = 0; s < SHIFTS.length; s++) {
+                    if ((listed & (1 << s)) != 0) {
+                        cellStart[day.ordinal() * SHIFTS.length + s + 1]++;
+                    }
+                }
+            }
+        }
+
+        // Cell -> requests listing it, as a CSR array
+        for (int cell = 0; cell < CELLS; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] fill = Arrays.copyOf(cellStart, CELLS);
+        for (int r = 0; r < size; r++) {
+            int day = requests[r] % DAYS;
+            int listed = listedShifts(roster.preferenceAt(requests[r] / DAYS, Day.values()[day]));
+            for (int s = 0; s < SHIFTS.length; s++) {
+                if ((listed & (1 << s)) != 0) {
+                    listings[fill[day * SHIFTS.length + s]++] = r;
+                }
+            }
+        }
+
+        // Counting sort by top-choice demand, descending; stable so roster order breaks ties
+        Arrays.fill(counts, 0, size + 2, 0);
+        for (int r = 0; r < size; r++) {
+            counts[size - demand(topCells[r]) + 1]++;
+        }
+        for (int k = 1; k <= size + 1; k++) {
+            counts[k] += counts[k - 1];
+        }
+        for (int r = 0; r < size; r++) {
+            order[counts[size - demand(topCells[r])]++] = r;
+        }
+
+        Arrays.fill(heads, -1);
+        Arrays.fill(tails, -1);
+        for (int k = 0; k < size; k++) {
+            append(order[k]);
+        }
+        pending = size;
+    }
+
+    boolean isEmpty() {
+        return pending == 0;
+    }
+
+    // Packed as rosterIndex * DAYS + day, like the solver's unresolved requests
+    int poll() {
+        for (int key = 0; key < heads.length; key++) {
+            int r = heads[key];
+            if (r >= 0) {
+                unlink(r);
+                keys[r] = -1;
+                pending--;
+                return requests[r];
+            }
+        }
+        throw new IllegalStateException("Queue is empty");
+    }
+
+    // Every still-queued request that listed this cell has one open option fewer
+    void cellFilled(int day, int shift) {
+        int cell = day * SHIFTS.length + shift;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int r = listings[k];
+            if (keys[r] > 0) {
+                unlink(r);
+                keys[r]--;
+                append(r);
+            }
+        }
+    }
+
+    private int demand(int cell) {
+        return cellStart[cell + 1] - cellStart[cell];
+    }
+
+    private void append(int r) {
+        int key = keys[r];
+        prev[r] = tails[key];
+        next[r] = -1;
+        if (tails[key] >= 0) {
+            next[tails[key]] = r;
+        } else {
+            heads[key] = r;
+        }
+        tails[key] = r;
+    }
+
+    private void unlink(int r) {
+        int key = keys[r];
+        if (prev[r] >= 0) {
+            next[prev[r]] = next[r];
+        } else {
+            heads[key] = next[r];
+        }
+        if (next[r] >= 0) {
+            prev[next[r]] = prev[r];
+        } else {
+            tails[key] = prev[r];
+        }
+    }
+
+    // Bit per shift the solver would try for this preference
+    private static int listedShifts(Preference pref) {
+        if (pref.isRanked()) {
+            int listed = 0;
+            for (Shift shift : SHIFTS) {
+                if (pref.rankOf(shift) > 0) {
+                    listed |= 1 << shift.ordinal();
+                }
+            }
+            return listed;
+        }
+        return pref.isSingle() ? 1 << pref.singleShift().ordinal() : 0;
+    }
+
+    private static int topChoice(Preference pref) {
+        if (!pref.isRanked()) {
+            return pref.singleShift().ordinal();
+        }
+        int best = -1;
+        for (Shift shift : SHIFTS) {
+            int rank = pref.rankOf(shift);
+            if (rank > 0 && (best < 0 || rank < pref.rankOf(SHIFTS[best]))) {
+                best = shift.ordinal();
+            }
+        }
+        return best;
+    }
+
+    private void ensureCapacity(int maxRequests) {
+        if (requests.length >= maxRequests) {
+            return;
+        }
+        requests = new int[maxRequests];
+        keys = new int[maxRequests];
+        topCells = new int[maxRequests];
+        prev = new int[maxRequests];
+        next = new int[maxRequests];
+        order = new int[maxRequests];
+        listings = new int[maxRequests * SHIFTS.length];
+        counts = new int[maxRequests + 2];
+    }
+}
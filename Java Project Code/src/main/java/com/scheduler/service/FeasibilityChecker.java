@@ -0,0 +1,47 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.Map;
+
+public class FeasibilityChecker {
+    private final int minPerShift;
+    private final int maxDaysPerEmp;
+
+    public FeasibilityChecker(int minPerShift, int maxDaysPerEmp) {
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmp = maxDaysPerEmp;
+    }
+
+    public FeasibilityReport check(int employeeCount) {
+        Day[] days = Day.values();
+        Shift[] shifts = Shift.values();
+        int dayDemand = shifts.length * minPerShift;
+        int required = days.length * dayDemand;
+
+        // Flow network: source -> employee (cap maxDaysPerEmp) -> day (cap 1 per employee)
+        // -> sink (cap dayDemand). Every employee can reach every day, so the min cut is
+        // either all employee edges or, per day, the cheaper of its employee edges and its demand.
+        int perDayBound = Math.min(employeeCount, dayDemand);
+        int budget = Math.min(employeeCount * maxDaysPerEmp, days.length * perDayBound);
+        int coverable = budget;
+
+        // Route the max flow in backfill order so the shortfall lands on the cells that
+        // the sequential backfill would actually leave short.
+        Map<Day, Map<Shift, Integer>> shortfalls = FeasibilityReport.emptyShortfalls();
+        for (Day day : days) {
+            int dayFlow = Math.min(perDayBound, budget);
+            budget -= dayFlow;
+
+            for (Shift shift : shifts) {
+                int cellFlow = Math.min(minPerShift, dayFlow);
+                dayFlow -= cellFlow;
+                if (cellFlow < minPerShift) {
+                    shortfalls.get(day).put(shift, minPerShift - cellFlow);
+                }
+            }
+        }
+
+        return new FeasibilityReport(required, coverable, shortfalls);
+    }
+}
@@ -0,0 +1,129 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.Arrays;
+
+// Upper bound on how many assignments can land on an employee's first choice. Every pass
+// of the solver stops filling a cell at MIN_PER_SHIFT, so the relaxation keeps that cap,
+// one shift per employee per day and the weekly day limit, and drops coverage. The bound
+// is a max flow source -> employee (maxDays) -> employee-day (1) -> cell (1) -> sink (min);
+// total flow is at most 21 * min, so a handful of BFS augmentations on int arrays suffice.
+class FirstChoiceBound {
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int DAYS = Day.values().length;
+    private static final int CELLS = DAYS * SHIFTS.length;
+
+    private int[] head = new int[0];
+    private int[] next = new int[0];
+    private int[] to = new int[0];
+    private int[] capacity = new int[0];
+    private int[] parentEdge = new int[0];
+    private int[] queue = new int[0];
+    private int edgeCount;
+
+    int compute(RosterView roster, int minPerShift, int maxDaysPerEmp) {
+        int employees = roster.size();
+        int source = 0;
+        int firstEmployee = 1;
+        int firstEmployeeDay = firstEmployee + employees;
+        int firstCell = firstEmployeeDay + employees * DAYS;
+        int sink = firstCell + CELLS;
+        int nodes = sink + 1;
+
+        reset(nodes, 2 * (employees + employees * DAYS * (1 + SHIFTS.length) + CELLS));
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            addEdge(firstCell + cell, sink, minPerShift);
+        }
+        for (int i = 0; i < employees; i++) {
+            boolean any = false;
+            for (Day day : Day.values()) {
+                Preference pref = roster.preferenceAt(i, day);
+                int employeeDay = firstEmployeeDay + i * DAYS + day.ordinal();
+                boolean linked = false;
+                for (Shift shift : SHIFTS) {
+                    if (isFirstChoice(pref, shift)) {
+                        addEdge(employeeDay, firstCell + day.ordinal() * SHIFTS.length + shift.ordinal(), 1);
+                        linked = true;
+                    }
+                }
+                if (linked) {
+                    addEdge(firstEmployee + i, employeeDay, 1);
+                    any = true;
+                }
+            }
+            if (any) {
+                addEdge(source, firstEmployee + i, maxDaysPerEmp);
+            }
+        }
+
+        int flow = 0;
+        while (augment(source, sink, nodes)) {
+            flow++;
+        }
+        return flow;
+    }
+
+    private static boolean isFirstChoice(Preference pref, Shift shift) {
+        if (pref.isSingle()) {
+            return pref.singleShift() == shift;
+        }
+        return pref.isRanked() && pref.rankOf(shift) == 1;
+    }
+
+    // Every path bottleneck is 1 (employee-day edges), so each BFS pushes one unit
+    private boolean augment(int source, int sink, int nodes) {
+        Arrays.fill(parentEdge, 0, nodes, -1);
+        int read = 0;
+        int write = 0;
+        queue[write++] = source;
+        parentEdge[source] = Integer.MAX_VALUE;
+
+        while (read < write && parentEdge[sink] == -1) {
+            int node = queue[read++];
+            for (int e = head[node]; e != -1; e = next[e]) {
+                if (capacity[e] > 0 && parentEdge[to[e]] == -1) {
+                    parentEdge[to[e]] = e;
+                    queue[write++] = to[e];
+                }
+            }
+        }
+
+        if (parentEdge[sink] == -1) {
+            return false;
+        }
+        for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+            capacity[parentEdge[node]]--;
+            capacity[parentEdge[node] ^ 1]++;
+        }
+        return true;
+    }
+
+    private void reset(int nodes, int edges) {
+        if (head.length < nodes) {
+            head = new int[nodes];
+            parentEdge = new int[nodes];
+            queue = new int[nodes];
+        }
+        if (to.length < edges) {
+            next = new int[edges];
+            to = new int[edges];
+            capacity = new int[edges];
+        }
+        Arrays.fill(head, 0, nodes, -1);
+        edgeCount = 0;
+    }
+
+    private void addEdge(int from, int target, int cap) {
+        to[edgeCount] = target;
+        capacity[edgeCount] = cap;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+
+        to[edgeCount] = from;
+        capacity[edgeCount] = 0;
+        next[edgeCount] = head[target];
+        head[target] = edgeCount++;
+    }
+}
@@ -0,0 +1,108 @@
+package com.scheduler.service;
+
+import java.util.Arrays;
+
+// Binary min-heap over ids 0..capacity-1 with a position index, so any id can be
+// re-keyed in O(log n). Equal keys are ordered by id.
+class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    void insert(int id, long key) {
+        if (contains(id)) {
+            update(id, key);
+            return;
+        }
+        keys[id] = key;
+        heap[size] = id;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    void update(int id, long key) {
+        long old = keys[id];
+        keys[id] = key;
+        if (key < old) {
+            siftUp(positions[id]);
+        } else {
+            siftDown(positions[id]);
+        }
+    }
+
+    int poll() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    private void removeAt(int pos) {
+        int id = heap[pos];
+        positions[id] = -1;
+        size--;
+        if (pos == size) {
+            return;
+        }
+        int last = heap[size];
+        heap[pos] = last;
+        positions[last] = pos;
+        siftDown(pos);
+        siftUp(positions[last]);
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!less(id, heap[parent])) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            positions[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = id;
+        positions[id] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], id)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            positions[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = id;
+        positions[id] = pos;
+    }
+}
@@ -0,0 +1,106 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.*;
+
+// Backfills each short cell with the least-loaded eligible employee: fewest work days,
+// then fewest backfills, then a seeded random tie-break.
+class LeastLoadedBackfill {
+    private static final int TIE_BITS = 21;
+    private static final int COUNT_BITS = 21;
+
+    private final long seed;
+    private final int minPerShift;
+    private final int maxDaysPerEmp;
+
+    LeastLoadedBackfill(long seed, int minPerShift, int maxDaysPerEmp) {
+        this.seed = seed;
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmp = maxDaysPerEmp;
+    }
+
+    void run(Schedule schedule, Map<String, Integer> workCounts,
+             RosterView roster, List<String> logs) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < roster.size(); i++) {
+            String name = roster.nameAt(i);
+            if (index.putIfAbsent(name, names.size()) == null) {
+                names.add(name);
+            }
+        }
+
+        int count = names.size();
+        int[] backfills = new int[count];
+        int[] ties = new int[count];
+        boolean[] busyToday = new boolean[count];
+        IndexedMinHeap heap = new IndexedMinHeap(count);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int i = 0; i < count; i++) {
+            ties[i] = random.nextInt(1 << TIE_BITS);
+            if (workCounts.get(names.get(i)) < maxDaysPerEmp) {
+                heap.insert(i, key(workCounts.get(names.get(i)), 0, ties[i]));
+            }
+        }
+
+        List<Integer> setAside = new ArrayList<>();
+
+        for (Day day : Day.values()) {
+            Arrays.fill(busyToday, false);
+            for (Shift shift : Shift.values()) {
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    Integer idx = index.get(name);
+                    if (idx != null) {
+                        busyToday[idx] = true;
+                    }
+                }
+            }
+
+            for (Shift shift : Shift.values()) {
+                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+
+                while (assigned.size() < minPerShift) {
+                    int selected = -1;
+                    while (!heap.isEmpty()) {
+                        int candidate = heap.poll();
+                        setAside.add(candidate);
+                        if (!busyToday[candidate]) {
+                            selected = candidate;
+                            break;
+                        }
+                    }
+
+                    if (selected < 0) {
+                        logs.add(String.format("WARNING: Cannot backfill %s %s - no eligible employees",
+                            day, shift));
+                        break;
+                    }
+
+                    String name = names.get(selected);
+                    schedule.assignEmployee(day, shift, name);
+                    workCounts.put(name, workCounts.get(name) + 1);
+                    backfills[selected]++;
+                    busyToday[selected] = true;
+                    logs.add(String.format("BACKFILL: Added %s to %s %s", name, day, shift));
+                }
+            }
+
+            // Everyone polled today was either busy or just placed; re-key them for tomorrow
+            for (int idx : setAside) {
+                int worked = workCounts.get(names.get(idx));
+                if (worked < maxDaysPerEmp) {
+                    heap.insert(idx, key(worked, backfills[idx], ties[idx]));
+                }
+            }
+            setAside.clear();
+        }
+    }
+
+    private static long key(int workCount, int backfillCount, int tie) {
+        return ((long) workCount << (COUNT_BITS + TIE_BITS))
+            | ((long) backfillCount << TIE_BITS)
+            | tie;
+    }
+}
@@ -0,0 +1,154 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Each employee's remaining work days are reserved to specific days up front, so days
+// never compete for the same budget and can be filled concurrently from their own RNG stream.
+class ParallelDayBackfill {
+    private final long seed;
+    private final int minPerShift;
+    private final int maxDaysPerEmp;
+    private final int parallelism;
+
+    ParallelDayBackfill(long seed, int minPerShift, int maxDaysPerEmp, int parallelism) {
+        this.seed = seed;
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmp = maxDaysPerEmp;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    void run(Schedule schedule, Map<String, Integer> workCounts,
+             RosterView roster, List<String> logs) {
+        Day[] days = Day.values();
+        List<List<String>> pools = reserve(schedule, workCounts, roster);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Callable<DayOutcome>> tasks = new ArrayList<>();
+        for (Day day : days) {
+            SplittableRandom dayRandom = root.split();
+            List<String> pool = pools.get(day.ordinal());
+            tasks.add(() -> fillDay(schedule, day, pool, dayRandom));
+        }
+
+        List<DayOutcome> outcomes = execute(tasks);
+
+        for (DayOutcome outcome : outcomes) {
+            logs.addAll(outcome.logs);
+            for (String name : outcome.placed) {
+                workCounts.put(name, workCounts.get(name) + 1);
+            }
+        }
+    }
+
+    private List<List<String>> reserve(Schedule schedule, Map<String, Integer> workCounts,
+                                       RosterView roster) {
+        Day[] days = Day.values();
+        int[] need = new int[days.length];
+        List<Set<String>> scheduled = new ArrayList<>();
+        List<List<String>> pools = new ArrayList<>();
+
+        for (Day day : days) {
+            Set<String> onDay = new HashSet<>();
+            for (Shift shift : Shift.values()) {
+                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+                onDay.addAll(assigned);
+                need[day.ordinal()] += Math.max(0, minPerShift - assigned.size());
+            }
+            scheduled.add(onDay);
+            pools.add(new ArrayList<>());
+        }
+
+        Set<String> seen = new HashSet<>();
+        Integer[] order = new Integer[days.length];
+
+        for (int e = 0; e < roster.size(); e++) {
+            String name = roster.nameAt(e);
+            if (!seen.add(name)) {
+                continue;
+            }
+
+            int remaining = maxDaysPerEmp - workCounts.get(name);
+            if (remaining <= 0) {
+                continue;
+            }
+
+            // Hand the employee's remaining days to the days with the largest unmet need
+            for (int i = 0; i < days.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> need[b] != need[a] ? need[b] - need[a] : a - b);
+
+            for (int idx : order) {
+                if (remaining == 0) {
+                    break;
+                }
+                if (scheduled.get(idx).contains(name)) {
+                    continue;
+                }
+                pools.get(idx).add(name);
+                need[idx]--;
+                remaining--;
+            }
+        }
+
+        return pools;
+    }
+
+    private DayOutcome fillDay(Schedule schedule, Day day, List<String> pool, SplittableRandom random) {
+        DayOutcome outcome = new DayOutcome();
+        List<String> candidates = new ArrayList<>(pool);
+
+        for (Shift shift : Shift.values()) {
+            List<String> assigned = schedule.getAssignedEmployees(day, shift);
+
+            while (assigned.size() < minPerShift) {
+                if (candidates.isEmpty()) {
+                    outcome.logs.add(String.format("WARNING: Cannot backfill %s %s - no eligible employees",
+                        day, shift));
+                    break;
+                }
+
+                int pick = random.nextInt(candidates.size());
+                String selected = candidates.get(pick);
+                candidates.set(pick, candidates.get(candidates.size() - 1));
+                candidates.remove(candidates.size() - 1);
+
+                schedule.assignEmployee(day, shift, selected);
+                outcome.placed.add(selected);
+                outcome.logs.add(String.format("BACKFILL: Added %s to %s %s", selected, day, shift));
+            }
+        }
+
+        return outcome;
+    }
+
+    private List<DayOutcome> execute(List<Callable<DayOutcome>> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()));
+        try {
+            List<DayOutcome> outcomes = new ArrayList<>();
+            for (Future<DayOutcome> future : executor.invokeAll(tasks)) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Backfill failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class DayOutcome {
+        final List<String> logs = new ArrayList<>();
+        final List<String> placed = new ArrayList<>();
+    }
+}
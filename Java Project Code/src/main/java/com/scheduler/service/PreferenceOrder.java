@@ -0,0 +1,6 @@
+package com.scheduler.service;
+
+public enum PreferenceOrder {
+    ROSTER,
+    MOST_CONSTRAINED_FIRST
+}
@@ -0,0 +1,129 @@
+package com.scheduler.service;
+
+import com.scheduler.model.Day;
+
+import java.util.Arrays;
+
+// Preference requests still waiting for a shift, handed from stage to stage. Entries are
+// packed as rosterIndex * DAYS + day; removeIf compacts in place and keeps the order, so a
+// stage that does not touch the queue passes its requests straight to the next one.
+// Read-only stages see it through readOnlyView(), which refuses every write.
+public class RequestQueue {
+    private static final Day[] DAYS = Day.values();
+
+    private int[] requests = new int[0];
+    private int size;
+
+    public interface RequestFilter {
+        boolean test(int rosterIndex, Day day);
+    }
+
+    RequestQueue() {
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int rosterIndexAt(int i) {
+        return requests[i] / DAYS.length;
+    }
+
+    public Day dayAt(int i) {
+        return DAYS[requests[i] % DAYS.length];
+    }
+
+    public void add(int rosterIndex, Day day) {
+        if (size == requests.length) {
+            requests = Arrays.copyOf(requests, Math.max(16, size * 2));
+        }
+        requests[size++] = rosterIndex * DAYS.length + day.ordinal();
+    }
+
+    // Drops every request the filter accepts, typically the ones it managed to place
+    public void removeIf(RequestFilter filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int request = requests[i];
+            if (!filter.test(request / DAYS.length, DAYS[request % DAYS.length])) {
+                requests[kept++] = request;
+            }
+        }
+        size = kept;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (requests.length < capacity) {
+            requests = Arrays.copyOf(requests, capacity);
+        }
+    }
+
+    RequestQueue readOnlyView() {
+        return new ReadOnly(this);
+    }
+
+    private static final class ReadOnly extends RequestQueue {
+        private final RequestQueue queue;
+
+        ReadOnly(RequestQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public int rosterIndexAt(int i) {
+            return queue.rosterIndexAt(i);
+        }
+
+        @Override
+        public Day dayAt(int i) {
+            return queue.dayAt(i);
+        }
+
+        @Override
+        public void add(int rosterIndex, Day day) {
+            throw refused();
+        }
+
+        @Override
+        public void removeIf(RequestFilter filter) {
+            throw refused();
+        }
+
+        @Override
+        public void clear() {
+            throw refused();
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            throw refused();
+        }
+
+        @Override
+        RequestQueue readOnlyView() {
+            return this;
+        }
+
+        private static IllegalStateException refused() {
+            return new IllegalStateException("Read-only stages cannot change the request queue");
+        }
+    }
+}
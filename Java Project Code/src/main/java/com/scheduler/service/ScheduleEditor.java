@@ -0,0 +1,175 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.*;
+
+// Manual edits on a generated schedule, applied in place. Per-employee day counts,
+// per-employee-per-day shift counts and per-cell sizes are kept up to date on every
+// edit, so each edit and each violation query is O(1) instead of a rescan of the week.
+public class ScheduleEditor implements ScheduleView {
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final int DAYS = Day.values().length;
+
+    private final Schedule schedule;
+    private final int minPerShift;
+    private final int maxDaysPerEmp;
+
+    private final Map<String, Integer> workDays = new HashMap<>();
+    private final Map<String, int[]> shiftsPerDay = new HashMap<>();
+    private int overworked;
+    private int doubleBooked;
+    private int understaffed;
+
+    ScheduleEditor(Schedule schedule, int minPerShift, int maxDaysPerEmp) {
+        this.schedule = schedule;
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmp = maxDaysPerEmp;
+
+        for (Day day : Day.values()) {
+            for (Shift shift : SHIFTS) {
+                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+                for (String name : assigned) {
+                    countIn(name, day);
+                }
+                if (assigned.size() < minPerShift) {
+                    understaffed++;
+                }
+            }
+        }
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    @Override
+    public List<String> getAssignedEmployees(Day day, Shift shift) {
+        return Collections.unmodifiableList(schedule.getAssignedEmployees(day, shift));
+    }
+
+    @Override
+    public boolean isEmployeeScheduled(Day day, String employeeName) {
+        int[] perDay = shiftsPerDay.get(employeeName);
+        return perDay != null && perDay[day.ordinal()] > 0;
+    }
+
+    public boolean assign(Day day, Shift shift, String employeeName) {
+        List<String> assigned = schedule.getAssignedEmployees(day, shift);
+        if (assigned.contains(employeeName)) {
+            return isValid();
+        }
+        assigned.add(employeeName);
+        countIn(employeeName, day);
+        if (assigned.size() == minPerShift) {
+            understaffed--;
+        }
+        return isValid();
+    }
+
+    public boolean unassign(Day day, Shift shift, String employeeName) {
+        List<String> assigned = schedule.getAssignedEmployees(day, shift);
+        if (!assigned.remove(employeeName)) {
+            return isValid();
+        }
+        countOut(employeeName, day);
+        if (assigned.size() == minPerShift - 1) {
+            understaffed++;
+        }
+        return isValid();
+    }
+
+    public boolean move(String employeeName, Day fromDay, Shift fromShift, Day toDay, Shift toShift) {
+        if (fromDay == toDay && fromShift == toShift) {
+            return isValid();
+        }
+        if (!schedule.getAssignedEmployees(fromDay, fromShift).contains(employeeName)) {
+            throw new IllegalArgumentException(String.format("%s is not assigned to %s %s",
+                employeeName, fromDay, fromShift));
+        }
+        // Dropping onto a cell that already lists the employee would lose them; leave both cells as they are
+        if (schedule.getAssignedEmployees(toDay, toShift).contains(employeeName)) {
+            return isValid();
+        }
+        unassign(fromDay, fromShift, employeeName);
+        return assign(toDay, toShift, employeeName);
+    }
+
+    public boolean isValid() {
+        return overworked == 0 && doubleBooked == 0 && understaffed == 0;
+    }
+
+    public boolean isUnderstaffed(Day day, Shift shift) {
+        return schedule.getAssignedEmployees(day, shift).size() < minPerShift;
+    }
+
+    public boolean isDoubleBooked(String employeeName, Day day) {
+        int[] perDay = shiftsPerDay.get(employeeName);
+        return perDay != null && perDay[day.ordinal()] > 1;
+    }
+
+    public boolean isOverworked(String employeeName) {
+        return workDays.getOrDefault(employeeName, 0) > maxDaysPerEmp;
+    }
+
+    public int getWorkDays(String employeeName) {
+        return workDays.getOrDefault(employeeName, 0);
+    }
+
+    public int getViolationCount() {
+        return overworked + doubleBooked + understaffed;
+    }
+
+    public List<String> describeViolations() {
+        List<String> lines = new ArrayList<>();
+        for (Day day : Day.values()) {
+            for (Shift shift : SHIFTS) {
+                if (isUnderstaffed(day, shift)) {
+                    lines.add(String.format("UNDERSTAFFED: %s %s has %d of %d employees",
+                        day, shift, schedule.getAssignedEmployees(day, shift).size(), minPerShift));
+                }
+            }
+        }
+        for (Map.Entry<String, int[]> entry : shiftsPerDay.entrySet()) {
+            for (Day day : Day.values()) {
+                if (entry.getValue()[day.ordinal()] > 1) {
+                    lines.add(String.format("DOUBLE SHIFT: %s works %d shifts on %s",
+                        entry.getKey(), entry.getValue()[day.ordinal()], day));
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> entry : workDays.entrySet()) {
+            if (entry.getValue() > maxDaysPerEmp) {
+                lines.add(String.format("OVER LIMIT: %s works %d days (max %d)",
+                    entry.getKey(), entry.getValue(), maxDaysPerEmp));
+            }
+        }
+        return lines;
+    }
+
+    private void countIn(String name, Day day) {
+        int[] perDay = shiftsPerDay.computeIfAbsent(name, k -> new int[DAYS]);
+        int shifts = ++perDay[day.ordinal()];
+        if (shifts == 1) {
+            int days = workDays.merge(name, 1, Integer::sum);
+            if (days == maxDaysPerEmp + 1) {
+                overworked++;
+            }
+        } else if (shifts == 2) {
+            doubleBooked++;
+        }
+    }
+
+    private void countOut(String name, Day day) {
+        int[] perDay = shiftsPerDay.get(name);
+        int shifts = --perDay[day.ordinal()];
+        if (shifts == 0) {
+            int days = workDays.merge(name, -1, Integer::sum);
+            if (days == maxDaysPerEmp) {
+                overworked--;
+            }
+        } else if (shifts == 1) {
+            doubleBooked--;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+import com.scheduler.util.IOUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Checks externally edited schedules against the roster's hard constraints. Roster names
+// are compiled to int ids once; each worker reuses its own per-employee counters across
+// the files it validates, and files are spread across workers in batch runs.
+public class ScheduleValidator {
+    private static final Shift[] SHIFTS = Shift.values();
+
+    private final int minPerShift;
+    private final int maxDaysPerEmp;
+    private final int parallelism;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    ScheduleValidator(RosterView roster, int minPerShift, int maxDaysPerEmp, int parallelism) {
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmp = maxDaysPerEmp;
+        this.parallelism = Math.max(1, parallelism);
+
+        for (int i = 0; i < roster.size(); i++) {
+            String name = roster.nameAt(i);
+            if (ids.putIfAbsent(name, names.size()) == null) {
+                names.add(name);
+            }
+        }
+    }
+
+    public ValidationReport validate(String source, ScheduleView schedule) {
+        return new Workspace().validate(source, schedule);
+    }
+
+    public ValidationReport validateFile(File file) {
+        return new Workspace().validateFile(file);
+    }
+
+    public List<ValidationReport> validateFiles(List<File> files) {
+        int workers = Math.min(parallelism, files.size());
+        if (workers <= 1) {
+            Workspace workspace = new Workspace();
+            List<ValidationReport> reports = new ArrayList<>();
+            for (File file : files) {
+                reports.add(workspace.validateFile(file));
+            }
+            return reports;
+        }
+
+        // Strided chunks keep large and small files spread evenly over the workers
+        List<Callable<ValidationReport[]>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int start = w;
+            tasks.add(() -> {
+                Workspace workspace = new Workspace();
+                ValidationReport[] chunk = new ValidationReport[files.size()];
+                for (int i = start; i < files.size(); i += workers) {
+                    chunk[i] = workspace.validateFile(files.get(i));
+                }
+                return chunk;
+            });
+        }
+
+        ValidationReport[] reports = new ValidationReport[files.size()];
+        for (ValidationReport[] chunk : execute(tasks, workers)) {
+            for (int i = 0; i < chunk.length; i++) {
+                if (chunk[i] != null) {
+                    reports[i] = chunk[i];
+                }
+            }
+        }
+        return Arrays.asList(reports);
+    }
+
+    private List<ValidationReport[]> execute(List<Callable<ValidationReport[]>> tasks, int workers) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<ValidationReport[]> results = new ArrayList<>();
+            for (Future<ValidationReport[]> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private class Workspace {
+        private final int[] daysWorked = new int[names.size()];
+        private final int[] lastDay = new int[names.size()];
+        private final long[] buffer = new long[64];
+        private long[] violations = buffer;
+        private int violationCount;
+
+        ValidationReport validateFile(File file) {
+            try {
+                Schedule schedule = file.getName().toLowerCase().endsWith(".csv")
+                    ? IOUtil.importScheduleCSV(file)
+                    : IOUtil.importScheduleJSON(file);
+                return validate(file.getName(), schedule);
+            } catch (IOException e) {
+                return ValidationReport.unreadable(file.getName(), e.getMessage());
+            }
+        }
+
+        ValidationReport validate(String source, ScheduleView schedule) {
+            Arrays.fill(daysWorked, 0);
+            Arrays.fill(lastDay, -1);
+            violations = buffer;
+            violationCount = 0;
+            List<String> unknown = new ArrayList<>();
+
+            for (Day day : Day.values()) {
+                for (Shift shift : SHIFTS) {
+                    List<String> assigned = schedule.getAssignedEmployees(day, shift);
+                    if (assigned.size() < minPerShift) {
+                        add(ValidationReport.Type.UNDERSTAFFED, day, shift, assigned.size());
+                    }
+
+                    for (String name : assigned) {
+                        Integer id = ids.get(name);
+                        if (id == null) {
+                            int known = unknown.indexOf(name);
+                            if (known < 0) {
+                                known = unknown.size();
+                                unknown.add(name);
+                            }
+                            add(ValidationReport.Type.UNKNOWN_EMPLOYEE, day, shift, known);
+                            continue;
+                        }
+
+                        if (lastDay[id] == day.ordinal()) {
+                            add(ValidationReport.Type.DOUBLE_SHIFT, day, shift, id);
+                            continue;
+                        }
+                        lastDay[id] = day.ordinal();
+                        if (++daysWorked[id] == maxDaysPerEmp + 1) {
+                            add(ValidationReport.Type.OVER_LIMIT, day, null, id);
+                        }
+                    }
+                }
+            }
+
+            return new ValidationReport(source, Arrays.copyOf(violations, violationCount),
+                Collections.unmodifiableList(names), unknown);
+        }
+
+        private void add(ValidationReport.Type type, Day day, Shift shift, int subject) {
+            if (violationCount == violations.length) {
+                violations = Arrays.copyOf(violations, violations.length * 2);
+            }
+            violations[violationCount++] = ValidationReport.pack(type, day, shift, subject);
+        }
+    }
+}
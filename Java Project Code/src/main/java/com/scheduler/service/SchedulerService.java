@@ -3,219 +3,452 @@ package com.scheduler.service;
 import com.scheduler.model.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.ToIntFunction;
 
 public class SchedulerService {
     private static final int MIN_PER_SHIFT = 2;
     private static final int MAX_DAYS_PER_EMP = 5;
+    private static final Day[] DAYS = Day.values();
+    private static final Shift[] SHIFTS = Shift.values();
 
+    public static final String PREFERENCE_STAGE = "preference";
+    public static final String SAME_DAY_STAGE = "same-day";
+    public static final String SPILLOVER_STAGE = "spillover";
+    public static final String BACKFILL_STAGE = "backfill";
+
+    private final long seed;
     private Random random;
+    private boolean bestEffort = true;
+    private BackfillMode backfillMode = BackfillMode.SEQUENTIAL;
+    private PreferenceOrder preferenceOrder = PreferenceOrder.ROSTER;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean detailedLogs = true;
+    private final SolverWorkspace workspace = new SolverWorkspace();
+    private SchedulingPipeline pipeline;
 
     public SchedulerService(long seed) {
+        this.seed = seed;
         this.random = new Random(seed);
     }
 
+    public BackfillMode getBackfillMode() {
+        return backfillMode;
+    }
+
+    public void setBackfillMode(BackfillMode backfillMode) {
+        this.backfillMode = backfillMode;
+    }
+
+    public PreferenceOrder getPreferenceOrder() {
+        return preferenceOrder;
+    }
+
+    public void setPreferenceOrder(PreferenceOrder preferenceOrder) {
+        this.preferenceOrder = preferenceOrder;
+    }
+
+    public SchedulingPipeline getPipeline() {
+        return pipeline != null ? pipeline : defaultPipeline();
+    }
+
+    // Start from defaultPipeline() to reorder, skip or add stages; null restores the default
+    public void setPipeline(SchedulingPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isDetailedLogs() {
+        return detailedLogs;
+    }
+
+    // Per-placement log lines can be turned off for bulk runs; result.placements() still explains every assignment
+    public void setDetailedLogs(boolean detailedLogs) {
+        this.detailedLogs = detailedLogs;
+    }
+
+    public boolean isBestEffort() {
+        return bestEffort;
+    }
+
+    public void setBestEffort(boolean bestEffort) {
+        this.bestEffort = bestEffort;
+    }
+
+    public FeasibilityReport checkFeasibility(List<Employee> employees) {
+        return checkFeasibility(RosterView.of(employees));
+    }
+
+    public FeasibilityReport checkFeasibility(RosterView roster) {
+        return new FeasibilityChecker(MIN_PER_SHIFT, MAX_DAYS_PER_EMP).check(roster.size());
+    }
+
+    public AbsenceRiskReport simulateAbsences(SchedulingResult result, List<Employee> employees,
+                                              AbsenceModel model, int scenarios) {
+        return simulateAbsences(result, RosterView.of(employees), model, scenarios);
+    }
+
+    public AbsenceRiskReport simulateAbsences(SchedulingResult result, RosterView roster,
+                                              AbsenceModel model, int scenarios) {
+        return new AbsenceSimulator(seed, MIN_PER_SHIFT, MAX_DAYS_PER_EMP, parallelism)
+            .run(result.getSchedule(), roster, model, scenarios);
+    }
+
+    public ScheduleEditor edit(Schedule schedule) {
+        return new ScheduleEditor(schedule, MIN_PER_SHIFT, MAX_DAYS_PER_EMP);
+    }
+
+    public ScheduleValidator validator(List<Employee> employees) {
+        return validator(RosterView.of(employees));
+    }
+
+    public ScheduleValidator validator(RosterView roster) {
+        return new ScheduleValidator(roster, MIN_PER_SHIFT, MAX_DAYS_PER_EMP, parallelism);
+    }
+
     public SchedulingResult generateSchedule(List<Employee> employees) {
-        Schedule schedule = new Schedule();
+        return generateSchedule(RosterView.of(employees));
+    }
+
+    public SchedulingResult generateSchedule(RosterView roster) {
+        return generateSchedule(roster, workspace);
+    }
+
+    public SchedulingResult generateSchedule(RosterView roster, SolverWorkspace workspace) {
         List<String> logs = new ArrayList<>();
-        Map<String, Integer> workCounts = new HashMap<>();
+        workspace.reset(roster, MIN_PER_SHIFT);
 
-        for (Employee emp : employees) {
-            workCounts.put(emp.getName(), 0);
+        FeasibilityReport feasibility = checkFeasibility(roster);
+        if (!feasibility.isFeasible()) {
+            logs.add("=== Feasibility Check ===");
+            logs.addAll(feasibility.describe());
+
+            if (!bestEffort) {
+                logs.add("Skipping solve: roster cannot cover minimum staffing");
+                Schedule schedule = new Schedule();
+                return new SchedulingResult(schedule, calculateStats(schedule, roster, workspace), logs);
+            }
+            logs.add("Continuing in best-effort mode\n");
         }
 
-        List<PlacementRequest> unresolvedRequests = new ArrayList<>();
+        StageContext context = new StageContext(roster, workspace, logs, MIN_PER_SHIFT, MAX_DAYS_PER_EMP);
+        Map<String, Double> timings = getPipeline().run(context, parallelism);
 
-        logs.add("=== Starting Preference Pass ===");
+        Schedule schedule = workspace.toSchedule();
+        Map<String, Double> stats = calculateStats(schedule, roster, workspace);
 
-        for (Employee employee : employees) {
-            for (Day day : Day.values()) {
-                Preference pref = employee.getPreference(day);
+        SchedulingResult result = new SchedulingResult(schedule, stats, logs);
+        result.attachPlacements(workspace.toPlacementIndex());
+        result.attachStageTimings(timings);
+        return result;
+    }
 
-                if (!pref.hasPreference()) {
-                    continue;
-                }
+    // Preference, same-day alternatives, next-day spillover, then backfill
+    public SchedulingPipeline defaultPipeline() {
+        return SchedulingPipeline.of(
+            SchedulingStage.of(PREFERENCE_STAGE, this::preferencePass),
+            SchedulingStage.of(SAME_DAY_STAGE, this::sameDayPass),
+            SchedulingStage.of(SPILLOVER_STAGE, this::spilloverPass),
+            SchedulingStage.of(BACKFILL_STAGE, this::backfillPass));
+    }
 
-                PlacementRequest request = new PlacementRequest(employee.getName(), day, pref);
+    private void preferencePass(StageContext context) {
+        SolverWorkspace workspace = context.workspace();
+        RosterView roster = context.roster();
+        List<String> logs = context.logs();
+        logs.add("=== Starting Preference Pass ===");
 
-                if (pref.isRanked()) {
-                    boolean placed = tryRankedPreferences(schedule, workCounts, request, logs);
-                    if (!placed) {
-                        unresolvedRequests.add(request);
-                        logs.add(String.format("CONFLICT: %s could not be placed on %s (ranked preferences)",
-                            employee.getName(), day));
-                    }
-                } else if (pref.isSingle()) {
-                    boolean placed = trySinglePreference(schedule, workCounts, request, logs);
-                    if (!placed) {
-                        unresolvedRequests.add(request);
-                        logs.add(String.format("CONFLICT: %s could not be placed on %s (single preference: %s)",
-                            employee.getName(), day, pref.getSingle().orElse("NONE")));
-                    }
+        if (preferenceOrder == PreferenceOrder.MOST_CONSTRAINED_FIRST) {
+            ContentionQueue queue = workspace.contentionQueue();
+            queue.build(roster);
+            while (!queue.isEmpty()) {
+                int request = queue.poll();
+                int day = request % SolverWorkspace.DAYS;
+                int openBefore = workspace.openShifts(day);
+                placePreference(context, request / SolverWorkspace.DAYS, DAYS[day]);
+
+                int filled = openBefore & ~workspace.openShifts(day);
+                if (filled != 0) {
+                    queue.cellFilled(day, Integer.numberOfTrailingZeros(filled));
+                }
+            }
+        } else {
+            for (int i = 0; i < workspace.rosterSize(); i++) {
+                for (Day day : Day.values()) {
+                    placePreference(context, i, day);
                 }
             }
         }
+    }
 
+    private void sameDayPass(StageContext context) {
+        SolverWorkspace workspace = context.workspace();
+        List<String> logs = context.logs();
         logs.add("\n=== Same-Day Alternatives Pass ===");
-        List<PlacementRequest> stillUnresolved = new ArrayList<>();
 
-        for (PlacementRequest request : unresolvedRequests) {
-            boolean placed = trySameDayAlternatives(schedule, workCounts, request, logs);
-            if (!placed) {
-                stillUnresolved.add(request);
-                logs.add(String.format("Still unresolved: %s on %s", request.employeeName, request.day));
+        context.requests().removeIf((rosterIndex, day) -> {
+            int id = workspace.idAt(rosterIndex);
+            boolean placed = trySameDayAlternatives(context, id, day);
+            if (!placed && detailedLogs) {
+                logs.add(String.format("Still unresolved: %s on %s", workspace.nameOf(id), day));
             }
-        }
+            return placed;
+        });
+    }
 
+    private void spilloverPass(StageContext context) {
+        SolverWorkspace workspace = context.workspace();
+        List<String> logs = context.logs();
         logs.add("\n=== Next-Day Spillover Pass ===");
-        for (PlacementRequest request : stillUnresolved) {
-            boolean placed = tryNextDaySpillover(schedule, workCounts, request, logs);
+
+        // Requests that fail here stay queued for any later custom stage
+        context.requests().removeIf((rosterIndex, day) -> {
+            int id = workspace.idAt(rosterIndex);
+            boolean placed = tryNextDaySpillover(context, id, day);
             if (!placed) {
-                logs.add(String.format("FAILED TO PLACE: %s (all days attempted)", request.employeeName));
+                logs.add(String.format("FAILED TO PLACE: %s (all days attempted)", workspace.nameOf(id)));
             }
-        }
+            return placed;
+        });
+    }
 
+    private void backfillPass(StageContext context) {
+        SolverWorkspace workspace = context.workspace();
+        RosterView roster = context.roster();
+        List<String> logs = context.logs();
         logs.add("\n=== Backfill Pass ===");
-        backfillShifts(schedule, workCounts, employees, logs);
 
-        Map<String, Double> stats = calculateStats(schedule, employees);
-
-        return new SchedulingResult(schedule, stats, logs);
+        switch (backfillMode) {
+            case PARALLEL_BY_DAY: {
+                Schedule schedule = workspace.toSchedule();
+                new ParallelDayBackfill(seed, MIN_PER_SHIFT, MAX_DAYS_PER_EMP, parallelism)
+                    .run(schedule, workspace.workCountsByName(), roster, logs);
+                workspace.markBackfilled(schedule);
+                break;
+            }
+            case LEAST_LOADED: {
+                Schedule schedule = workspace.toSchedule();
+                new LeastLoadedBackfill(seed, MIN_PER_SHIFT, MAX_DAYS_PER_EMP)
+                    .run(schedule, workspace.workCountsByName(), roster, logs);
+                workspace.markBackfilled(schedule);
+                break;
+            }
+            default:
+                backfillShifts(workspace, logs);
+        }
     }
 
-    private boolean tryRankedPreferences(Schedule schedule, Map<String, Integer> workCounts,
-                                        PlacementRequest request, List<String> logs) {
-        Map<String, Integer> ranked = request.preference.getRanked();
+    private void placePreference(StageContext context, int rosterIndex, Day day) {
+        SolverWorkspace workspace = context.workspace();
+        List<String> logs = context.logs();
+        Preference pref = context.roster().preferenceAt(rosterIndex, day);
+
+        if (!pref.hasPreference()) {
+            return;
+        }
+
+        int id = workspace.idAt(rosterIndex);
+        String name = workspace.nameOf(id);
 
-        List<Map.Entry<String, Integer>> sortedPrefs = ranked.entrySet().stream()
-            .sorted(Map.Entry.comparingByValue())
-            .collect(Collectors.toList());
+        if (pref.isRanked()) {
+            boolean placed = tryRankedPreferences(context, id, day, pref);
+            if (!placed) {
+                context.requests().add(rosterIndex, day);
+                if (detailedLogs) {
+                    logs.add(String.format("CONFLICT: %s could not be placed on %s (ranked preferences)",
+                        name, day));
+                }
+            }
+        } else if (pref.isSingle()) {
+            boolean placed = trySinglePreference(context, id, day, pref);
+            if (!placed) {
+                context.requests().add(rosterIndex, day);
+                if (detailedLogs) {
+                    logs.add(String.format("CONFLICT: %s could not be placed on %s (single preference: %s)",
+                        name, day, pref.getSingle().orElse("NONE")));
+                }
+            }
+        }
+    }
 
-        for (Map.Entry<String, Integer> entry : sortedPrefs) {
-            String shiftName = entry.getKey();
-            Integer priority = entry.getValue();
-            Shift shift = Shift.valueOf(shiftName.toUpperCase());
+    private boolean tryRankedPreferences(StageContext context, int id, Day day, Preference preference) {
+        SolverWorkspace workspace = context.workspace();
+        for (int priority = 1; priority <= Preference.MAX_RANK; priority++) {
+            for (Shift shift : SHIFTS) {
+                if (preference.rankOf(shift) != priority) {
+                    continue;
+                }
 
-            if (canPlace(schedule, workCounts, request.employeeName, request.day, shift)) {
-                place(schedule, workCounts, request.employeeName, request.day, shift);
-                logs.add(String.format("Placed %s on %s %s (priority %d)",
-                    request.employeeName, request.day, shift, priority));
-                return true;
+                if (context.canPlaceId(id, day, shift)) {
+                    workspace.place(id, day.ordinal(), shift.ordinal(), PlacementSource.PREFERENCE, priority);
+                    if (detailedLogs) {
+                        context.logs().add(String.format("Placed %s on %s %s (priority %d)",
+                            workspace.nameOf(id), day, shift, priority));
+                    }
+                    return true;
+                }
             }
         }
 
         return false;
     }
 
-    private boolean trySinglePreference(Schedule schedule, Map<String, Integer> workCounts,
-                                       PlacementRequest request, List<String> logs) {
-        Optional<String> singleOpt = request.preference.getSingle();
-        if (!singleOpt.isPresent()) {
+    private boolean trySinglePreference(StageContext context, int id, Day day, Preference preference) {
+        SolverWorkspace workspace = context.workspace();
+        Shift shift = preference.singleShift();
+        if (shift == null) {
             return false;
         }
 
-        String shiftName = singleOpt.get();
-        Shift shift = Shift.valueOf(shiftName.toUpperCase());
-
-        if (canPlace(schedule, workCounts, request.employeeName, request.day, shift)) {
-            place(schedule, workCounts, request.employeeName, request.day, shift);
-            logs.add(String.format("Placed %s on %s %s (single preference)",
-                request.employeeName, request.day, shift));
+        if (context.canPlaceId(id, day, shift)) {
+            workspace.place(id, day.ordinal(), shift.ordinal(), PlacementSource.PREFERENCE, 0);
+            if (detailedLogs) {
+                context.logs().add(String.format("Placed %s on %s %s (single preference)",
+                    workspace.nameOf(id), day, shift));
+            }
             return true;
         }
 
         return false;
     }
 
-    private boolean trySameDayAlternatives(Schedule schedule, Map<String, Integer> workCounts,
-                                          PlacementRequest request, List<String> logs) {
-        for (Shift shift : Shift.values()) {
-            if (canPlace(schedule, workCounts, request.employeeName, request.day, shift)) {
-                place(schedule, workCounts, request.employeeName, request.day, shift);
-                logs.add(String.format("Placed %s on %s %s (same-day alternative)",
-                    request.employeeName, request.day, shift));
-                return true;
+    private boolean trySameDayAlternatives(StageContext context, int id, Day day) {
+        SolverWorkspace workspace = context.workspace();
+        int open = workspace.openShifts(day.ordinal());
+        if (open == 0 || workspace.isScheduled(id, day.ordinal()) || workspace.workCount(id) >= MAX_DAYS_PER_EMP) {
+            // Probe anyway so each shift records why it was refused
+            for (Shift shift : SHIFTS) {
+                context.canPlaceId(id, day, shift);
             }
+            return false;
         }
-        return false;
-    }
-
-    private boolean tryNextDaySpillover(Schedule schedule, Map<String, Integer> workCounts,
-                                       PlacementRequest request, List<String> logs) {
-        Day[] days = Day.values();
-        int startIdx = request.day.ordinal();
 
-        for (int i = 1; i < days.length; i++) {
-            int nextIdx = (startIdx + i) % days.length;
-            Day nextDay = days[nextIdx];
+        // The lowest open shift is the one a shift-by-shift probe would stop at
+        Shift shift = SHIFTS[Integer.numberOfTrailingZeros(open)];
+        for (int s = 0; s < shift.ordinal(); s++) {
+            workspace.reject(id, day.ordinal(), s, RejectionReason.SHIFT_FULL);
+        }
+        workspace.place(id, day.ordinal(), shift.ordinal(), PlacementSource.SAME_DAY_ALTERNATIVE, 0);
+        if (detailedLogs) {
+            context.logs().add(String.format("Placed %s on %s %s (same-day alternative)",
+                workspace.nameOf(id), day, shift));
+        }
+        return true;
+    }
 
-            for (Shift shift : Shift.values()) {
-                if (canPlace(schedule, workCounts, request.employeeName, nextDay, shift)) {
-                    place(schedule, workCounts, request.employeeName, nextDay, shift);
-                    logs.add(String.format("Placed %s on %s %s (spillover from %s)",
-                        request.employeeName, nextDay, shift, request.day));
-                    return true;
+    private boolean tryNextDaySpillover(StageContext context, int id, Day day) {
+        SolverWorkspace workspace = context.workspace();
+        int startIdx = day.ordinal();
+        if (workspace.workCount(id) >= MAX_DAYS_PER_EMP) {
+            // Probe anyway so each cell records why it was refused
+            for (int i = 1; i < DAYS.length; i++) {
+                for (Shift shift : SHIFTS) {
+                    context.canPlaceId(id, DAYS[(startIdx + i) % DAYS.length], shift);
                 }
             }
+            return false;
         }
 
-        return false;
+        // Days with an open shift that the employee does not already work, rotated so bit 0
+        // is the day after startIdx; the lowest bit is the first day the cyclic search reaches
+        int candidates = workspace.openDays() & ~workspace.scheduledDays(id) & ~(1 << startIdx);
+        if (candidates == 0) {
+            rejectSkippedDays(workspace, id, startIdx, DAYS.length - 1);
+            return false;
+        }
+        int first = (startIdx + 1) % DAYS.length;
+        int rotated = ((candidates >>> first) | (candidates << (DAYS.length - first))) & ((1 << DAYS.length) - 1);
+        int skipped = Integer.numberOfTrailingZeros(rotated);
+        rejectSkippedDays(workspace, id, startIdx, skipped);
+
+        int nextIdx = (first + skipped) % DAYS.length;
+        Day nextDay = DAYS[nextIdx];
+        Shift shift = SHIFTS[Integer.numberOfTrailingZeros(workspace.openShifts(nextIdx))];
+        for (int s = 0; s < shift.ordinal(); s++) {
+            workspace.reject(id, nextIdx, s, RejectionReason.SHIFT_FULL);
+        }
+
+        workspace.place(id, nextIdx, shift.ordinal(), PlacementSource.SPILLOVER, startIdx);
+        if (detailedLogs) {
+            context.logs().add(String.format("Placed %s on %s %s (spillover from %s)",
+                workspace.nameOf(id), nextDay, shift, day));
+        }
+        return true;
     }
 
-    private void backfillShifts(Schedule schedule, Map<String, Integer> workCounts,
-                               List<Employee> employees, List<String> logs) {
-        for (Day day : Day.values()) {
-            for (Shift shift : Shift.values()) {
-                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+    // The first `count` days after startIdx were left out of the candidate mask: either the
+    // employee already works them, or every shift on them is full
+    private static void rejectSkippedDays(SolverWorkspace workspace, int id, int startIdx, int count) {
+        for (int i = 1; i <= count; i++) {
+            int dayIdx = (startIdx + i) % DAYS.length;
+            RejectionReason reason = (workspace.scheduledDays(id) & (1 << dayIdx)) != 0
+                ? RejectionReason.ALREADY_SCHEDULED : RejectionReason.SHIFT_FULL;
+            for (int s = 0; s < SHIFTS.length; s++) {
+                workspace.reject(id, dayIdx, s, reason);
+            }
+        }
+    }
 
-                while (assigned.size() < MIN_PER_SHIFT) {
-                    List<String> eligible = employees.stream()
-                        .map(Employee::getName)
-                        .filter(name -> !schedule.isEmployeeScheduled(day, name))
-                        .filter(name -> workCounts.get(name) < MAX_DAYS_PER_EMP)
-                        .collect(Collectors.toList());
+    private void backfillShifts(SolverWorkspace workspace, List<String> logs) {
+        int[] eligible = workspace.eligibleBuffer();
+
+        for (Day day : DAYS) {
+            for (Shift shift : SHIFTS) {
+                while (workspace.cellSize(day.ordinal(), shift.ordinal()) < MIN_PER_SHIFT) {
+                    // Roster order with duplicates kept, so the seeded picks match name-based runs
+                    int count = 0;
+                    for (int i = 0; i < workspace.rosterSize(); i++) {
+                        int id = workspace.idAt(i);
+                        if (!workspace.isScheduled(id, day.ordinal()) && workspace.workCount(id) < MAX_DAYS_PER_EMP) {
+                            eligible[count++] = id;
+                        }
+                    }
 
-                    if (eligible.isEmpty()) {
+                    if (count == 0) {
                         logs.add(String.format("WARNING: Cannot backfill %s %s - no eligible employees",
                             day, shift));
                         break;
                     }
 
-                    String selected = eligible.get(random.nextInt(eligible.size()));
-                    place(schedule, workCounts, selected, day, shift);
-                    logs.add(String.format("BACKFILL: Added %s to %s %s", selected, day, shift));
+                    int selected = eligible[random.nextInt(count)];
+                    workspace.place(selected, day.ordinal(), shift.ordinal(), PlacementSource.BACKFILL, 0);
+                    if (detailedLogs) {
+                        logs.add(String.format("BACKFILL: Added %s to %s %s", workspace.nameOf(selected), day, shift));
+                    }
                 }
             }
         }
     }
 
-    private boolean canPlace(Schedule schedule, Map<String, Integer> workCounts,
-                             String employeeName, Day day, Shift shift) {
-        // Do not place the same person twice in a day
-        if (schedule.isEmployeeScheduled(day, employeeName)) {
-            return false;
-        }
-
-        // NEW: avoid overfilling a shift during preference/spillover passes
-        if (schedule.getAssignedEmployees(day, shift).size() >= MIN_PER_SHIFT) {
-            return false;
-        }
-
-        // Respect the 5-days-per-employee limit
-        if (workCounts.get(employeeName) >= MAX_DAYS_PER_EMP) {
-            return false;
+    // Stats for a result whose schedule was edited after the solve. The first-choice bound
+    // depends only on the roster, so it is carried over rather than recomputed.
+    public void refreshStats(SchedulingResult result, RosterView roster) {
+        Map<String, Integer> firstIndex = new HashMap<>();
+        for (int i = 0; i < roster.size(); i++) {
+            firstIndex.putIfAbsent(roster.nameAt(i), i);
         }
-
-        return true;
+        int firstChoiceBound = result.getStats().getOrDefault("firstChoiceBound", 0.0).intValue();
+        result.setStats(calculateStats(result.getSchedule(), roster,
+            name -> firstIndex.getOrDefault(name, -1), firstChoiceBound));
     }
 
-    private void place(Schedule schedule, Map<String, Integer> workCounts,
-                      String employeeName, Day day, Shift shift) {
-        schedule.assignEmployee(day, shift, employeeName);
-        workCounts.put(employeeName, workCounts.get(employeeName) + 1);
+    private Map<String, Double> calculateStats(Schedule schedule, RosterView roster, SolverWorkspace workspace) {
+        // Distance from the most first choices reachable with cells capped at MIN_PER_SHIFT
+        int firstChoiceBound = workspace.firstChoiceBound().compute(roster, MIN_PER_SHIFT, MAX_DAYS_PER_EMP);
+        return calculateStats(schedule, roster, name -> {
+            int id = workspace.idOf(name);
+            return id < 0 ? -1 : workspace.firstIndexOf(id);
+        }, firstChoiceBound);
     }
 
-    private Map<String, Double> calculateStats(Schedule schedule, List<Employee> employees) {
+    private Map<String, Double> calculateStats(Schedule schedule, RosterView roster,
+                                               ToIntFunction<String> rosterIndexOf, int firstChoiceBound) {
         Map<String, Double> stats = new HashMap<>();
 
         int totalAssignments = 0;
@@ -230,38 +463,28 @@ public class SchedulerService {
                 totalAssignments += assigned.size();
 
                 for (String empName : assigned) {
-                    Employee emp = employees.stream()
-                        .filter(e -> e.getName().equals(empName))
-                        .findFirst()
-                        .orElse(null);
+                    int index = rosterIndexOf.applyAsInt(empName);
 
-                    if (emp == null) {
+                    if (index < 0) {
                         continue;
                     }
 
-                    Preference pref = emp.getPreference(day);
+                    Preference pref = roster.preferenceAt(index, day);
 
                     if (!pref.hasPreference()) {
                         backfills++;
                     } else if (pref.isSingle()) {
-                        if (pref.getSingle().orElse("").equalsIgnoreCase(shift.name())) {
+                        if (pref.singleShift() == shift) {
                             firstChoice++;
                         }
                     } else if (pref.isRanked()) {
-                        Map<String, Integer> ranked = pref.getRanked();
-                        Integer priority = ranked.get(shift.name().toUpperCase());
-                        if (priority == null) {
-                            priority = ranked.get(shift.name());
-                        }
-
-                        if (priority != null) {
-                            if (priority == 1) {
-                                firstChoice++;
-                            } else if (priority == 2) {
-                                secondChoice++;
-                            } else if (priority == 3) {
-                                thirdChoice++;
-                            }
+                        int priority = pref.rankOf(shift);
+                        if (priority == 1) {
+                            firstChoice++;
+                        } else if (priority == 2) {
+                            secondChoice++;
+                        } else if (priority == 3) {
+                            thirdChoice++;
                         }
                     }
                 }
@@ -274,6 +497,9 @@ public class SchedulerService {
         stats.put("thirdChoice", (double) thirdChoice);
         stats.put("backfills", (double) backfills);
 
+        stats.put("firstChoiceBound", (double) firstChoiceBound);
+        stats.put("firstChoiceGap", (double) (firstChoiceBound - firstChoice));
+
         if (totalAssignments > 0) {
             stats.put("firstChoicePct", (firstChoice * 100.0) / totalAssignments);
             stats.put("secondChoicePct", (secondChoice * 100.0) / totalAssignments);
@@ -286,16 +512,4 @@ public class SchedulerService {
 
         return stats;
     }
-
-    private static class PlacementRequest {
-        String employeeName;
-        Day day;
-        Preference preference;
-
-        PlacementRequest(String employeeName, Day day, Preference preference) {
-            this.employeeName = employeeName;
-            this.day = day;
-            this.preference = preference;
-        }
-    }
 }
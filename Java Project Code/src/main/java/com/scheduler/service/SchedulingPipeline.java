@@ -0,0 +1,141 @@
+package com.scheduler.service;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// An ordered, immutable list of stages. The editing methods return a new pipeline, so a
+// service's default can be reordered or trimmed without affecting other callers. Each
+// stage is timed; consecutive read-only stages run side by side on their own log buffers,
+// with contexts that refuse writes.
+public class SchedulingPipeline {
+    private final List<SchedulingStage> stages;
+
+    private SchedulingPipeline(List<SchedulingStage> stages) {
+        this.stages = List.copyOf(stages);
+    }
+
+    public static SchedulingPipeline of(SchedulingStage... stages) {
+        return new SchedulingPipeline(Arrays.asList(stages));
+    }
+
+    public List<SchedulingStage> getStages() {
+        return stages;
+    }
+
+    public List<String> stageNames() {
+        List<String> names = new ArrayList<>();
+        for (SchedulingStage stage : stages) {
+            names.add(stage.name());
+        }
+        return names;
+    }
+
+    public SchedulingPipeline then(SchedulingStage stage) {
+        List<SchedulingStage> next = new ArrayList<>(stages);
+        next.add(stage);
+        return new SchedulingPipeline(next);
+    }
+
+    public SchedulingPipeline without(String name) {
+        List<SchedulingStage> next = new ArrayList<>(stages);
+        next.removeIf(stage -> stage.name().equals(name));
+        return new SchedulingPipeline(next);
+    }
+
+    public SchedulingPipeline insertBefore(String name, SchedulingStage stage) {
+        List<SchedulingStage> next = new ArrayList<>(stages);
+        next.add(indexOf(name), stage);
+        return new SchedulingPipeline(next);
+    }
+
+    public SchedulingPipeline insertAfter(String name, SchedulingStage stage) {
+        List<SchedulingStage> next = new ArrayList<>(stages);
+        next.add(indexOf(name) + 1, stage);
+        return new SchedulingPipeline(next);
+    }
+
+    public SchedulingPipeline replace(String name, SchedulingStage stage) {
+        List<SchedulingStage> next = new ArrayList<>(stages);
+        next.set(indexOf(name), stage);
+        return new SchedulingPipeline(next);
+    }
+
+    public SchedulingPipeline reorder(String... names) {
+        List<SchedulingStage> next = new ArrayList<>();
+        for (String name : names) {
+            next.add(stages.get(indexOf(name)));
+        }
+        return new SchedulingPipeline(next);
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < stages.size(); i++) {
+            if (stages.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No stage named " + name + " in " + stageNames());
+    }
+
+    // Milliseconds per stage, in pipeline order
+    Map<String, Double> run(StageContext context, int parallelism) {
+        Map<String, Double> timings = new LinkedHashMap<>();
+        int i = 0;
+        while (i < stages.size()) {
+            int end = i + 1;
+            while (end < stages.size() && stages.get(i).isReadOnly() && stages.get(end).isReadOnly()) {
+                end++;
+            }
+
+            if (end - i == 1 || parallelism <= 1) {
+                for (int s = i; s < end; s++) {
+                    SchedulingStage stage = stages.get(s);
+                    long start = System.nanoTime();
+                    stage.run(stage.isReadOnly() ? context.readOnlyView(context.logs()) : context);
+                    timings.merge(stage.name(), (System.nanoTime() - start) / 1e6, Double::sum);
+                }
+            } else {
+                runReadOnly(stages.subList(i, end), context, parallelism, timings);
+            }
+            i = end;
+        }
+        return timings;
+    }
+
+    private static void runReadOnly(List<SchedulingStage> group, StageContext context, int parallelism,
+                                    Map<String, Double> timings) {
+        List<Callable<List<String>>> tasks = new ArrayList<>();
+        double[] elapsed = new double[group.size()];
+        for (int g = 0; g < group.size(); g++) {
+            SchedulingStage stage = group.get(g);
+            int slot = g;
+            tasks.add(() -> {
+                List<String> stageLogs = new ArrayList<>();
+                long start = System.nanoTime();
+                stage.run(context.readOnlyView(stageLogs));
+                elapsed[slot] = (System.nanoTime() - start) / 1e6;
+                return stageLogs;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()));
+        try {
+            List<Future<List<String>>> futures = executor.invokeAll(tasks);
+            for (int g = 0; g < group.size(); g++) {
+                context.logs().addAll(futures.get(g).get());
+                timings.merge(group.get(g).name(), elapsed[g], Double::sum);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Stage failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
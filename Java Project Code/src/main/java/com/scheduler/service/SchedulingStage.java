@@ -0,0 +1,51 @@
+package com.scheduler.service;
+
+import java.util.function.Consumer;
+
+// One pass of the solver. Stages share a StageContext: the compiled roster, the placements
+// made so far and the queue of requests earlier stages could not place.
+public interface SchedulingStage {
+
+    String name();
+
+    void run(StageContext context);
+
+    // Read-only stages never place, reject or touch the queue, so a run of them can go in parallel;
+    // their context throws on place() and reject()
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    static SchedulingStage of(String name, Consumer<StageContext> body) {
+        return new SchedulingStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void run(StageContext context) {
+                body.accept(context);
+            }
+        };
+    }
+
+    static SchedulingStage readOnly(String name, Consumer<StageContext> body) {
+        return new SchedulingStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void run(StageContext context) {
+                body.accept(context);
+            }
+
+            @Override
+            public boolean isReadOnly() {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,273 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.*;
+
+// Scratch state for one solve, indexed by int employee id instead of name. Ids are dense
+// and follow the roster: each is the first roster index holding a name, and name lookups
+// go to the roster itself, so the workspace holds no per-employee objects. Arrays only
+// grow, and reset() clears just the prefix the next roster uses; if the roster is
+// unchanged since the last run (same version, or for rosters without one, the same
+// names) the id mapping is kept as is. A workspace must not be shared by concurrent solves.
+//
+// The workspace also indexes open capacity: a bitmask per day of the shifts still below
+// the fill cap, a mask of days with any open shift, and a mask per employee of the days
+// they already work, so the fallback passes can jump straight to a usable cell.
+//
+// Assignments are kept per day rather than per cell: nobody works two shifts in a day, so
+// a day never holds more than capacity of them, each packed as id * SHIFTS + shift.
+public class SolverWorkspace {
+    static final int DAYS = Day.values().length;
+    static final int SHIFTS = Shift.values().length;
+    static final int CELLS = DAYS * SHIFTS;
+    private static final byte FREE = -1;
+
+    private RosterView roster;
+    private long rosterVersion = -1;
+    // Names seen last run, kept only for rosters that do not report a version
+    private String[] names = new String[0];
+    private int[] rosterIds = new int[0];
+    private int[] firstIndex = new int[0];
+    private int[] workCounts = new int[0];
+    private byte[] shiftOnDay = new byte[0];
+    private byte[] scheduledDays = new byte[0];
+    private byte[] sources = new byte[0];
+    private byte[] details = new byte[0];
+    private byte[] rejections = new byte[0];
+    private int[] dayMembers = new int[0];
+    private final int[] daySizes = new int[DAYS];
+    private final int[] cellSizes = new int[CELLS];
+    private final int[] openShifts = new int[DAYS];
+    private int openDays;
+    private int fillCap;
+    private int[] eligible = new int[0];
+    private final RequestQueue requests = new RequestQueue();
+    private final FirstChoiceBound firstChoiceBound = new FirstChoiceBound();
+    private final ContentionQueue contentionQueue = new ContentionQueue();
+
+    private int rosterSize;
+    private int uniqueCount;
+    private int capacity;
+
+    // Cells count as open until they hold fillCap employees
+    void reset(RosterView roster, int fillCap) {
+        int size = roster.size();
+        ensureCapacity(size);
+
+        if (!sameRoster(roster)) {
+            boolean versioned = roster.version() >= 0;
+            if (!versioned && names.length < capacity) {
+                names = new String[capacity];
+            }
+            uniqueCount = 0;
+            for (int i = 0; i < size; i++) {
+                int first = roster.firstIndexOf(i);
+                int id;
+                if (first == i) {
+                    id = uniqueCount++;
+                    firstIndex[id] = i;
+                } else {
+                    id = rosterIds[first];
+                }
+                rosterIds[i] = id;
+                if (!versioned) {
+                    names[i] = roster.nameAt(i);
+                }
+            }
+            rosterSize = size;
+        }
+        this.roster = roster;
+        this.rosterVersion = roster.version();
+
+        Arrays.fill(workCounts, 0, uniqueCount, 0);
+        Arrays.fill(shiftOnDay, 0, uniqueCount * DAYS, FREE);
+        Arrays.fill(scheduledDays, 0, uniqueCount, (byte) 0);
+        Arrays.fill(sources, 0, uniqueCount * DAYS, (byte) 0);
+        Arrays.fill(rejections, 0, uniqueCount * CELLS, (byte) 0);
+        Arrays.fill(daySizes, 0);
+        Arrays.fill(cellSizes, 0);
+        this.fillCap = fillCap;
+        Arrays.fill(openShifts, fillCap > 0 ? (1 << SHIFTS) - 1 : 0);
+        openDays = fillCap > 0 ? (1 << DAYS) - 1 : 0;
+        requests.clear();
+    }
+
+    private boolean sameRoster(RosterView roster) {
+        if (roster.size() != rosterSize) {
+            return false;
+        }
+        long version = roster.version();
+        if (version >= 0 || rosterVersion >= 0) {
+            return roster == this.roster && version == rosterVersion;
+        }
+        for (int i = 0; i < rosterSize; i++) {
+            if (!Objects.equals(roster.nameAt(i), names[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= capacity) {
+            return;
+        }
+        capacity = Math.max(size, capacity * 2);
+        rosterIds = new int[capacity];
+        firstIndex = new int[capacity];
+        workCounts = new int[capacity];
+        shiftOnDay = new byte[capacity * DAYS];
+        scheduledDays = new byte[capacity];
+        sources = new byte[capacity * DAYS];
+        details = new byte[capacity * DAYS];
+        rejections = new byte[capacity * CELLS];
+        dayMembers = new int[capacity * DAYS];
+        eligible = new int[capacity];
+        requests.ensureCapacity(capacity * DAYS);
+        rosterSize = -1;
+    }
+
+    int rosterSize() {
+        return rosterSize;
+    }
+
+    int idAt(int rosterIndex) {
+        return rosterIds[rosterIndex];
+    }
+
+    String nameOf(int id) {
+        return roster.nameAt(firstIndex[id]);
+    }
+
+    int idOf(String name) {
+        int index = roster.indexOf(name);
+        return index < 0 ? -1 : rosterIds[index];
+    }
+
+    int firstIndexOf(int id) {
+        return firstIndex[id];
+    }
+
+    int workCount(int id) {
+        return workCounts[id];
+    }
+
+    boolean isScheduled(int id, int day) {
+        return shiftOnDay[id * DAYS + day] != FREE;
+    }
+
+    int cellSize(int day, int shift) {
+        return cellSizes[day * SHIFTS + shift];
+    }
+
+    // Bit per shift still below the fill cap on this day
+    int openShifts(int day) {
+        return openShifts[day];
+    }
+
+    // Bit per day with at least one open shift
+    int openDays() {
+        return openDays;
+    }
+
+    // Bit per day this employee already works
+    int scheduledDays(int id) {
+        return scheduledDays[id];
+    }
+
+    void place(int id, int day, int shift, PlacementSource source, int detail) {
+        int cell = day * SHIFTS + shift;
+        dayMembers[day * capacity + daySizes[day]++] = id * SHIFTS + shift;
+        cellSizes[cell]++;
+        shiftOnDay[id * DAYS + day] = (byte) shift;
+        scheduledDays[id] |= 1 << day;
+        if (cellSizes[cell] == fillCap) {
+            openShifts[day] &= ~(1 << shift);
+            if (openShifts[day] == 0) {
+                openDays &= ~(1 << day);
+            }
+        }
+        sources[id * DAYS + day] = (byte) (source.ordinal() + 1);
+        details[id * DAYS + day] = (byte) detail;
+        workCounts[id]++;
+    }
+
+    void reject(int id, int day, int shift, RejectionReason reason) {
+        rejections[id * CELLS + day * SHIFTS + shift] = (byte) (reason.ordinal() + 1);
+    }
+
+    // Backfill strategies that work on a Schedule directly only append to its cells, so
+    // everything past a cell's current size is a backfill to replay into the workspace
+    void markBackfilled(Schedule schedule) {
+        Day[] days = Day.values();
+        Shift[] shifts = Shift.values();
+        for (int cell = 0; cell < CELLS; cell++) {
+            int day = cell / SHIFTS;
+            List<String> assigned = schedule.getAssignedEmployees(days[day], shifts[cell % SHIFTS]);
+            for (int k = cellSizes[cell]; k < assigned.size(); k++) {
+                int id = idOf(assigned.get(k));
+                if (id >= 0) {
+                    place(id, day, cell % SHIFTS, PlacementSource.BACKFILL, 0);
+                }
+            }
+        }
+    }
+
+    PlacementIndex toPlacementIndex() {
+        String[] uniqueNames = new String[uniqueCount];
+        for (int id = 0; id < uniqueCount; id++) {
+            uniqueNames[id] = nameOf(id);
+        }
+        return new PlacementIndex(
+            uniqueNames,
+            Arrays.copyOf(sources, uniqueCount * DAYS),
+            Arrays.copyOf(shiftOnDay, uniqueCount * DAYS),
+            Arrays.copyOf(details, uniqueCount * DAYS),
+            Arrays.copyOf(rejections, uniqueCount * CELLS));
+    }
+
+    FirstChoiceBound firstChoiceBound() {
+        return firstChoiceBound;
+    }
+
+    ContentionQueue contentionQueue() {
+        return contentionQueue;
+    }
+
+    int[] eligibleBuffer() {
+        return eligible;
+    }
+
+    RequestQueue requests() {
+        return requests;
+    }
+
+    Schedule toSchedule() {
+        Schedule schedule = new Schedule();
+        Day[] days = Day.values();
+        Shift[] shifts = Shift.values();
+        // Each name is read from the roster once, however many shifts the employee works.
+        // Members are appended in placement order, which keeps each cell's order too.
+        String[] resolved = new String[uniqueCount];
+        for (int day = 0; day < DAYS; day++) {
+            for (int k = 0; k < daySizes[day]; k++) {
+                int member = dayMembers[day * capacity + k];
+                int id = member / SHIFTS;
+                if (resolved[id] == null) {
+                    resolved[id] = nameOf(id);
+                }
+                schedule.getAssignedEmployees(days[day], shifts[member % SHIFTS]).add(resolved[id]);
+            }
+        }
+        return schedule;
+    }
+
+    Map<String, Integer> workCountsByName() {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int id = 0; id < uniqueCount; id++) {
+            byName.put(nameOf(id), workCounts[id]);
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,131 @@
+package com.scheduler.service;
+
+import com.scheduler.model.*;
+
+import java.util.List;
+
+// What a stage sees: the roster, the SolverWorkspace compiled from it, the request queue
+// and the run's log. Employees are addressed by roster index, as in RosterView. Queries
+// have no side effects; place(), reject() and the request queue are the only writes.
+// Read-only stages get a view of their own that refuses all three, with a log merged in
+// stage order afterwards.
+public class StageContext {
+    private final RosterView roster;
+    private final SolverWorkspace workspace;
+    private final RequestQueue requests;
+    private final List<String> logs;
+    private final int minPerShift;
+    private final int maxDaysPerEmployee;
+    private final boolean readOnly;
+
+    StageContext(RosterView roster, SolverWorkspace workspace, List<String> logs,
+                 int minPerShift, int maxDaysPerEmployee) {
+        this(roster, workspace, logs, minPerShift, maxDaysPerEmployee, false);
+    }
+
+    private StageContext(RosterView roster, SolverWorkspace workspace, List<String> logs,
+                         int minPerShift, int maxDaysPerEmployee, boolean readOnly) {
+        this.roster = roster;
+        this.workspace = workspace;
+        this.requests = readOnly ? workspace.requests().readOnlyView() : workspace.requests();
+        this.logs = logs;
+        this.minPerShift = minPerShift;
+        this.maxDaysPerEmployee = maxDaysPerEmployee;
+        this.readOnly = readOnly;
+    }
+
+    StageContext readOnlyView(List<String> stageLogs) {
+        return new StageContext(roster, workspace, stageLogs, minPerShift, maxDaysPerEmployee, true);
+    }
+
+    SolverWorkspace workspace() {
+        return workspace;
+    }
+
+    public RosterView roster() {
+        return roster;
+    }
+
+    public RequestQueue requests() {
+        return requests;
+    }
+
+    public List<String> logs() {
+        return logs;
+    }
+
+    public int minPerShift() {
+        return minPerShift;
+    }
+
+    public int maxDaysPerEmployee() {
+        return maxDaysPerEmployee;
+    }
+
+    public int cellSize(Day day, Shift shift) {
+        return workspace.cellSize(day.ordinal(), shift.ordinal());
+    }
+
+    public boolean isScheduled(int rosterIndex, Day day) {
+        return workspace.isScheduled(workspace.idAt(rosterIndex), day.ordinal());
+    }
+
+    public int workDays(int rosterIndex) {
+        return workspace.workCount(workspace.idAt(rosterIndex));
+    }
+
+    public boolean canPlace(int rosterIndex, Day day, Shift shift) {
+        return refusal(workspace.idAt(rosterIndex), day, shift) == null;
+    }
+
+    // Why the placement would be refused, or null if it is allowed
+    public RejectionReason refusalOf(int rosterIndex, Day day, Shift shift) {
+        return refusal(workspace.idAt(rosterIndex), day, shift);
+    }
+
+    public void place(int rosterIndex, Day day, Shift shift, PlacementSource source) {
+        checkWritable();
+        workspace.place(workspace.idAt(rosterIndex), day.ordinal(), shift.ordinal(), source, 0);
+    }
+
+    // Records why a placement was refused, for PlacementIndex.explain
+    public void reject(int rosterIndex, Day day, Shift shift, RejectionReason reason) {
+        checkWritable();
+        workspace.reject(workspace.idAt(rosterIndex), day.ordinal(), shift.ordinal(), reason);
+    }
+
+    // canPlace plus reject, as the built-in passes use it
+    boolean canPlaceId(int id, Day day, Shift shift) {
+        RejectionReason reason = refusal(id, day, shift);
+        if (reason != null) {
+            checkWritable();
+            workspace.reject(id, day.ordinal(), shift.ordinal(), reason);
+        }
+        return reason == null;
+    }
+
+    private RejectionReason refusal(int id, Day day, Shift shift) {
+        // Do not place the same person twice in a day
+        if (workspace.isScheduled(id, day.ordinal())) {
+            return RejectionReason.ALREADY_SCHEDULED;
+        }
+
+        // Avoid overfilling a shift during preference/spillover passes
+        if (workspace.cellSize(day.ordinal(), shift.ordinal()) >= minPerShift) {
+            return RejectionReason.SHIFT_FULL;
+        }
+
+        // Respect the 5-days-per-employee limit
+        if (workspace.workCount(id) >= maxDaysPerEmployee) {
+            return RejectionReason.MAX_DAYS_REACHED;
+        }
+
+        return null;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Read-only stages cannot place or reject");
+        }
+    }
+}
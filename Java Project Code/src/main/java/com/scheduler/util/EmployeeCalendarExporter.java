@@ -0,0 +1,271 @@
+package com.scheduler.util;
+
+import com.scheduler.model.Day;
+import com.scheduler.model.ScheduleView;
+import com.scheduler.model.Shift;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Writes one calendar per employee. The week is inverted in a single pass into a 21-bit
+// mask of (day, shift) cells per employee; each writer thread then reuses one
+// StringBuilder and one encoded byte buffer for all of its employees, so output cost is
+// dominated by the disk.
+public class EmployeeCalendarExporter {
+    public enum Format {
+        ICS(".ics"),
+        CSV(".csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final Day[] DAYS = Day.values();
+    private static final int[] SHIFT_START_HOURS = {6, 12, 18};
+    private static final int SHIFT_HOURS = 6;
+    private static final DateTimeFormatter ICS_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "calendar-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private EmployeeCalendarExporter() {
+    }
+
+    public static int exportToDirectory(ScheduleView schedule, LocalDate weekStart, Format format,
+                                        Path directory, int parallelism) throws IOException {
+        Files.createDirectories(directory);
+        List<EmployeeWeek> weeks = invert(schedule);
+        String stamp = LocalDateTime.now().format(ICS_TIME);
+
+        int workers = Math.max(1, Math.min(parallelism, weeks.size()));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int start = w;
+            tasks.add(() -> {
+                StringBuilder buffer = new StringBuilder(1024);
+                Utf8Buffer encoded = new Utf8Buffer();
+                for (int i = start; i < weeks.size(); i += workers) {
+                    EmployeeWeek week = weeks.get(i);
+                    buffer.setLength(0);
+                    render(week, weekStart, format, stamp, buffer);
+                    ByteBuffer bytes = encoded.encode(buffer);
+                    try (FileChannel channel = FileChannel.open(directory.resolve(week.fileName + format.getExtension()),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        while (bytes.hasRemaining()) {
+                            channel.write(bytes);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        execute(tasks, workers);
+        return weeks.size();
+    }
+
+    public static int exportToZip(ScheduleView schedule, LocalDate weekStart, Format format,
+                                  Path zipFile) throws IOException {
+        List<EmployeeWeek> weeks = invert(schedule);
+        String stamp = LocalDateTime.now().format(ICS_TIME);
+        StringBuilder buffer = new StringBuilder(1024);
+        Utf8Buffer encoded = new Utf8Buffer();
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(zipFile), 1 << 16);
+             ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8)) {
+            for (EmployeeWeek week : weeks) {
+                buffer.setLength(0);
+                render(week, weekStart, format, stamp, buffer);
+                ByteBuffer bytes = encoded.encode(buffer);
+                zip.putNextEntry(new ZipEntry(week.fileName + format.getExtension()));
+                zip.write(bytes.array(), 0, bytes.limit());
+                zip.closeEntry();
+            }
+        }
+        return weeks.size();
+    }
+
+    // exportToZip on a background thread, for callers on the FX thread. A failed export
+    // leaves no partial archive behind.
+    public static CompletableFuture<Integer> exportToZipAsync(ScheduleView schedule, LocalDate weekStart,
+                                                              Format format, Path zipFile) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        BACKGROUND.execute(() -> {
+            try {
+                result.complete(exportToZip(schedule, weekStart, format, zipFile));
+            } catch (Throwable e) {
+                try {
+                    Files.deleteIfExists(zipFile);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    static List<EmployeeWeek> invert(ScheduleView schedule) {
+        Map<String, EmployeeWeek> byName = new LinkedHashMap<>();
+        for (Day day : DAYS) {
+            for (Shift shift : SHIFTS) {
+                int bit = 1 << (day.ordinal() * SHIFTS.length + shift.ordinal());
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    byName.computeIfAbsent(name, EmployeeWeek::new).cells |= bit;
+                }
+            }
+        }
+
+        // File names are settled up front so parallel writers never race on collisions
+        Set<String> used = new HashSet<>();
+        List<EmployeeWeek> weeks = new ArrayList<>(byName.values());
+        for (EmployeeWeek week : weeks) {
+            String base = week.name.replaceAll("[^A-Za-z0-9._-]+", "_");
+            String candidate = base;
+            for (int n = 2; !used.add(candidate.toLowerCase()); n++) {
+                candidate = base + "-" + n;
+            }
+            week.fileName = candidate;
+        }
+        return weeks;
+    }
+
+    private static void render(EmployeeWeek week, LocalDate weekStart, Format format,
+                               String stamp, StringBuilder out) {
+        if (format == Format.CSV) {
+            out.append("Day,Date,Shift,Start,End\n");
+        } else {
+            out.append("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Shift Scheduler//EN\r\n");
+        }
+
+        for (Day day : DAYS) {
+            for (Shift shift : SHIFTS) {
+                if ((week.cells & (1 << (day.ordinal() * SHIFTS.length + shift.ordinal()))) == 0) {
+                    continue;
+                }
+                LocalDateTime start = weekStart.plusDays(day.ordinal()).atTime(SHIFT_START_HOURS[shift.ordinal()], 0);
+                LocalDateTime end = start.plusHours(SHIFT_HOURS);
+
+                if (format == Format.CSV) {
+                    out.append(day).append(',').append(start.toLocalDate()).append(',').append(shift)
+                        .append(',').append(start.toLocalTime()).append(',').append(end.toLocalTime()).append('\n');
+                } else {
+                    out.append("BEGIN:VEVENT\r\n")
+                        .append("UID:").append(week.fileName).append('-').append(start.format(ICS_TIME))
+                        .append("@shift-scheduler\r\n")
+                        .append("DTSTAMP:").append(stamp).append("\r\n")
+                        .append("DTSTART:").append(start.format(ICS_TIME)).append("\r\n")
+                        .append("DTEND:").append(end.format(ICS_TIME)).append("\r\n")
+                        .append("SUMMARY:").append(shift).append(" shift - ");
+                    appendEscaped(out, week.name);
+                    out.append("\r\nEND:VEVENT\r\n");
+                }
+            }
+        }
+
+        if (format == Format.ICS) {
+            out.append("END:VCALENDAR\r\n");
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ',' || c == ';') {
+                out.append('\\');
+            }
+            out.append(c);
+        }
+    }
+
+    private static void execute(List<Callable<Void>> tasks, int workers) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Calendar export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Calendar export failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // UTF-8 encoding of a StringBuilder into buffers reused from file to file
+    private static final class Utf8Buffer {
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private char[] chars = new char[1024];
+        private CharBuffer charView = CharBuffer.wrap(chars);
+        private ByteBuffer bytes = ByteBuffer.allocate(4096);
+
+        ByteBuffer encode(StringBuilder text) {
+            int length = text.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+                charView = CharBuffer.wrap(chars);
+            }
+            text.getChars(0, length, chars, 0);
+            charView.clear().limit(length);
+
+            int needed = (int) (length * encoder.maxBytesPerChar());
+            if (bytes.capacity() < needed) {
+                bytes = ByteBuffer.allocate(Math.max(needed, bytes.capacity() * 2));
+            }
+            bytes.clear();
+            encoder.reset();
+            encoder.encode(charView, bytes, true);
+            encoder.flush(bytes);
+            return bytes.flip();
+        }
+    }
+
+    static class EmployeeWeek {
+        final String name;
+        int cells;
+        String fileName;
+
+        EmployeeWeek(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.scheduler.util;
+
+import com.scheduler.model.*;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+// Incremental search index over the roster. Names and ids are indexed by every 1-3 character
+// gram; preferences by "DAY:SHIFT" and "DAY:SHIFT=RANK" (a single preference counts as rank 1).
+// Query tokens are whitespace separated and AND-ed, e.g. "ali MON:MORNING=1".
+public class EmployeeSearchIndex {
+    private static final int GRAM = 3;
+
+    private final Map<String, Set<Employee>> grams = new HashMap<>();
+    private final Map<String, Set<Employee>> attributes = new HashMap<>();
+    private final Map<Employee, Entry> entries = new IdentityHashMap<>();
+
+    public void addAll(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            add(employee);
+        }
+    }
+
+    public void add(Employee employee) {
+        if (entries.containsKey(employee)) {
+            update(employee);
+            return;
+        }
+
+        Entry entry = new Entry(employee);
+        entries.put(employee, entry);
+        entry.gramKeys.forEach(key -> postings(grams, key).add(employee));
+        entry.attributeKeys.forEach(key -> postings(attributes, key).add(employee));
+    }
+
+    public void remove(Employee employee) {
+        Entry entry = entries.remove(employee);
+        if (entry == null) {
+            return;
+        }
+        entry.gramKeys.forEach(key -> unpost(grams, key, employee));
+        entry.attributeKeys.forEach(key -> unpost(attributes, key, employee));
+    }
+
+    public void update(Employee employee) {
+        Entry old = entries.get(employee);
+        if (old == null) {
+            add(employee);
+            return;
+        }
+
+        Entry fresh = new Entry(employee);
+        entries.put(employee, fresh);
+        diff(grams, old.gramKeys, fresh.gramKeys, employee);
+        diff(attributes, old.attributeKeys, fresh.attributeKeys, employee);
+    }
+
+    public void clear() {
+        grams.clear();
+        attributes.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Predicate<Employee> predicate(String query) {
+        if (query == null || query.isBlank()) {
+            return employee -> true;
+        }
+
+        Set<Employee> matches = null;
+        for (String token : query.trim().split("\\s+")) {
+            Set<Employee> tokenMatches = match(token);
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.retainAll(tokenMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+
+        Set<Employee> result = matches;
+        return result::contains;
+    }
+
+    private Set<Employee> match(String token) {
+        Set<Employee> result = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        if (token.indexOf(':') > 0) {
+            Set<Employee> posted = attributes.get(token.toUpperCase());
+            if (posted != null) {
+                result.addAll(posted);
+            }
+            return result;
+        }
+
+        String needle = token.toLowerCase();
+        if (needle.length() <= GRAM) {
+            Set<Employee> posted = grams.get(needle);
+            if (posted != null) {
+                result.addAll(posted);
+            }
+            return result;
+        }
+
+        // Scan only the rarest trigram's postings and verify the full substring
+        Set<Employee> smallest = null;
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            Set<Employee> posted = grams.get(needle.substring(i, i + GRAM));
+            if (posted == null) {
+                return result;
+            }
+            if (smallest == null || posted.size() < smallest.size()) {
+                smallest = posted;
+            }
+        }
+        for (Employee employee : smallest) {
+            if (entries.get(employee).text.contains(needle)) {
+                result.add(employee);
+            }
+        }
+        return result;
+    }
+
+    private static Set<Employee> postings(Map<String, Set<Employee>> index, String key) {
+        return index.computeIfAbsent(key, k -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static void unpost(Map<String, Set<Employee>> index, String key, Employee employee) {
+        Set<Employee> posted = index.get(key);
+        if (posted != null) {
+            posted.remove(employee);
+            if (posted.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static void diff(Map<String, Set<Employee>> index, Set<String> oldKeys,
+                             Set<String> newKeys, Employee employee) {
+        for (String key : oldKeys) {
+            if (!newKeys.contains(key)) {
+                unpost(index, key, employee);
+            }
+        }
+        for (String key : newKeys) {
+            if (!oldKeys.contains(key)) {
+                postings(index, key).add(employee);
+            }
+        }
+    }
+
+    private static class Entry {
+        final String text;
+        final Set<String> gramKeys = new HashSet<>();
+        final Set<String> attributeKeys = new HashSet<>();
+
+        Entry(Employee employee) {
+            String name = employee.getName() != null ? employee.getName().toLowerCase() : "";
+            String id = employee.getId() != null ? employee.getId().toLowerCase() : "";
+            this.text = name + "\n" + id;
+
+            addGrams(name);
+            addGrams(id);
+
+            for (Day day : Day.values()) {
+                Preference pref = employee.getPreference(day);
+                if (pref.isSingle()) {
+                    addAttribute(day, pref.getSingle().get(), 1);
+                } else if (pref.isRanked()) {
+                    for (Map.Entry<String, Integer> ranked : pref.getRanked().entrySet()) {
+                        addAttribute(day, ranked.getKey(), ranked.getValue());
+                    }
+                }
+            }
+        }
+
+        private void addGrams(String value) {
+            for (int start = 0; start < value.length(); start++) {
+                for (int len = 1; len <= GRAM && start + len <= value.length(); len++) {
+                    gramKeys.add(value.substring(start, start + len));
+                }
+            }
+        }
+
+        private void addAttribute(Day day, String shift, int rank) {
+            String key = day + ":" + shift.toUpperCase();
+            attributeKeys.add(key);
+            attributeKeys.add(key + "=" + rank);
+        }
+    }
+}
@@ -1,38 +1,43 @@
 package com.scheduler.util;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.scheduler.model.*;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
 public class IOUtil {
-    private static final ObjectMapper mapper = new ObjectMapper();
 
-    static {
-        mapper.registerModule(new Jdk8Module());
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    // Holder class, so Jackson is only loaded and configured by the first JSON call
+    private static final class Json {
+        static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new Jdk8Module())
+            .enable(SerializationFeature.INDENT_OUTPUT);
     }
 
     public static List<Employee> importEmployees(File file) throws IOException {
-        Employee[] employees = mapper.readValue(file, Employee[].class);
+        Employee[] employees = Json.MAPPER.readValue(file, Employee[].class);
         return List.of(employees);
     }
 
     public static void exportEmployees(List<Employee> employees, File file) throws IOException {
-        mapper.writeValue(file, employees);
+        Json.MAPPER.writeValue(file, employees);
     }
 
     public static void exportScheduleJSON(SchedulingResult result, File file) throws IOException {
-        mapper.writeValue(file, result);
+        Json.MAPPER.writeValue(file, result);
     }
 
-    public static void exportScheduleCSV(Schedule schedule, File file) throws IOException {
+    public static void exportScheduleCSV(ScheduleView schedule, File file) throws IOException {
         StringBuilder csv = new StringBuilder();
 
         csv.append("Day,Shift,Employees\n");
@@ -48,13 +53,109 @@ public class IOUtil {
         Files.write(file.toPath(), csv.toString().getBytes());
     }
 
+    // Streams a schedule out of an exported result (or a bare schedule object), skipping
+    // stats and logs without materialising them
+    public static Schedule importScheduleJSON(File file) throws IOException {
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a schedule object in " + file.getName());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("assignments".equals(field)) {
+                    return readAssignments(parser, file);
+                }
+                if ("schedule".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String inner = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("assignments".equals(inner)) {
+                            return readAssignments(parser, file);
+                        }
+                        parser.skipChildren();
+                    }
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new IOException("No schedule assignments found in " + file.getName());
+    }
+
+    public static Schedule importScheduleCSV(File file) throws IOException {
+        Schedule schedule = new Schedule();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] parts = line.split(",", 3);
+                if (parts.length < 3) {
+                    throw new IOException(String.format("Malformed line %d in %s", lineNumber, file.getName()));
+                }
+                Day day = parseEnum(Day.class, parts[0].trim(), file);
+                Shift shift = parseEnum(Shift.class, parts[1].trim(), file);
+                String employees = parts[2].trim();
+                if (employees.startsWith("\"") && employees.endsWith("\"") && employees.length() >= 2) {
+                    employees = employees.substring(1, employees.length() - 1);
+                }
+                for (String name : employees.split(";")) {
+                    if (!name.isBlank()) {
+                        schedule.assignEmployee(day, shift, name.trim());
+                    }
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private static Schedule readAssignments(JsonParser parser, File source) throws IOException {
+        Schedule schedule = new Schedule();
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected assignments object in " + source.getName());
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Day day = parseEnum(Day.class, parser.getCurrentName(), source);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException(String.format("Expected shifts object for %s in %s", day, source.getName()));
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Shift shift = parseEnum(Shift.class, parser.getCurrentName(), source);
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException(String.format("Expected employee list for %s %s in %s",
+                        day, shift, source.getName()));
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                        throw new IOException(String.format("Expected employee name for %s %s in %s, found %s",
+                            day, shift, source.getName(), parser.currentToken()));
+                    }
+                    schedule.assignEmployee(day, shift, parser.getText());
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, File file) throws IOException {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(String.format("Unknown %s '%s' in %s",
+                type.getSimpleName().toLowerCase(), value, file.getName()), e);
+        }
+    }
+
     public static List<Employee> loadSampleData() {
         try {
             var resource = IOUtil.class.getResourceAsStream("/employees_sample.json");
             if (resource == null) {
                 throw new IOException("Sample data file not found");
             }
-            Employee[] employees = mapper.readValue(resource, Employee[].class);
+            Employee[] employees = Json.MAPPER.readValue(resource, Employee[].class);
             return List.of(employees);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load sample data", e);
@@ -0,0 +1,137 @@
+package com.scheduler.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Minimal PNG encoder that takes the image a band of rows at a time, so the caller never
+// needs the whole bitmap in memory. Pixels are 8-bit RGBA without scanline filters; the
+// deflate stream is cut into IDAT chunks of CHUNK_SIZE bytes as it fills.
+public class PngStreamWriter implements Closeable {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final int width;
+    private final int height;
+    private final byte[] row;
+    private final Deflater compressor = new Deflater();
+    private final DeflaterOutputStream deflater;
+    private int rowsWritten;
+
+    public PngStreamWriter(OutputStream target, int width, int height) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image must not be empty: " + width + "x" + height);
+        }
+        this.out = new DataOutputStream(target);
+        this.width = width;
+        this.height = height;
+        this.row = new byte[1 + width * 4];
+
+        out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8);  // bit depth
+        headerData.writeByte(6);  // RGBA
+        headerData.writeByte(0);  // deflate
+        headerData.writeByte(0);  // adaptive filtering
+        headerData.writeByte(0);  // no interlace
+        writeChunk("IHDR", header.toByteArray(), header.size());
+
+        this.deflater = new DeflaterOutputStream(new IdatStream(), compressor, CHUNK_SIZE);
+    }
+
+    // Appends rows of ARGB pixels, stride = width
+    public void writeRows(int[] argb, int rows) throws IOException {
+        if (rowsWritten + rows > height) {
+            throw new IllegalStateException("More rows than the declared height " + height);
+        }
+        for (int r = 0; r < rows; r++) {
+            int offset = r * width;
+            for (int x = 0; x < width; x++) {
+                int pixel = argb[offset + x];
+                int i = 1 + x * 4;
+                row[i] = (byte) (pixel >> 16);
+                row[i + 1] = (byte) (pixel >> 8);
+                row[i + 2] = (byte) pixel;
+                row[i + 3] = (byte) (pixel >>> 24);
+            }
+            deflater.write(row);
+        }
+        rowsWritten += rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rowsWritten != height) {
+                throw new IOException("Image ended after " + rowsWritten + " of " + height + " rows");
+            }
+            deflater.close();
+            writeChunk("IEND", new byte[0], 0);
+            out.flush();
+        } finally {
+            compressor.end();
+            out.close();
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    // Collects compressed bytes and emits them as IDAT chunks
+    private class IdatStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size;
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[size++] = (byte) b;
+            if (size == buffer.length) {
+                flushChunk();
+            }
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException {
+            while (length > 0) {
+                int n = Math.min(length, buffer.length - size);
+                System.arraycopy(data, offset, buffer, size, n);
+                size += n;
+                offset += n;
+                length -= n;
+                if (size == buffer.length) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+
+        private void flushChunk() throws IOException {
+            if (size > 0) {
+                writeChunk("IDAT", buffer, size);
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.scheduler.util;
+
+import com.scheduler.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Append-only log of roster edits on top of a binary roster snapshot. Each record is
+// [int length][int crc][type + payload]; a torn or corrupt tail is dropped on recovery.
+// Records are fsynced in batches, and compaction rewrites the snapshot and empties the log.
+// Replay is idempotent per record, so a crash between the two compaction steps is harmless.
+public class RosterJournal implements Closeable {
+    public static final String SNAPSHOT_FILE = "roster.snapshot";
+    public static final String JOURNAL_FILE = "roster.journal";
+
+    private static final byte ADD = 1;
+    private static final byte RENAME = 2;
+    private static final byte DELETE = 3;
+    private static final byte SET_PREFERENCE = 4;
+
+    private static final int DEFAULT_SYNC_BATCH = 64;
+    private static final long DEFAULT_SYNC_INTERVAL_MS = 500;
+    private static final int DEFAULT_COMPACT_THRESHOLD = 10_000;
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final FileChannel channel;
+    private final ScheduledExecutorService syncTimer;
+    private final int syncBatch;
+    private final int compactThreshold;
+
+    private int unsynced;
+    private int recordsSinceCompaction;
+
+    private RosterJournal(Path directory, int syncBatch, long syncIntervalMs, int compactThreshold) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.journalPath = directory.resolve(JOURNAL_FILE);
+        this.channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.syncBatch = syncBatch;
+        this.compactThreshold = compactThreshold;
+
+        this.syncTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "roster-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncTimer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static RosterJournal open(Path directory) throws IOException {
+        return new RosterJournal(directory, DEFAULT_SYNC_BATCH, DEFAULT_SYNC_INTERVAL_MS, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    public static RosterJournal open(Path directory, int syncBatch, int compactThreshold) throws IOException {
+        return new RosterJournal(directory, syncBatch, DEFAULT_SYNC_INTERVAL_MS, compactThreshold);
+    }
+
+    public static Path defaultDirectory() {
+        String override = System.getProperty("scheduler.journal.dir");
+        if (override != null) {
+            return Path.of(override);
+        }
+        return Path.of(System.getProperty("user.home"), ".shift-scheduler");
+    }
+
+    public synchronized List<Employee> recover() throws IOException {
+        Map<String, Employee> roster = new LinkedHashMap<>();
+        if (Files.exists(snapshotPath)) {
+            for (Employee employee : SnapshotUtil.readEmployees(snapshotPath.toFile())) {
+                roster.put(employee.getId(), employee);
+            }
+        }
+
+        long size = channel.size();
+        ByteBuffer data = ByteBuffer.allocate((int) size);
+        channel.read(data, 0);
+        data.flip();
+
+        long validEnd = 0;
+        int replayed = 0;
+        while (data.remaining() >= 8) {
+            int length = data.getInt();
+            int crc = data.getInt();
+            if (length <= 0 || length > data.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            data.get(payload);
+            if (checksum(payload) != crc) {
+                break;
+            }
+            apply(roster, payload);
+            validEnd = data.position();
+            replayed++;
+        }
+
+        // Drop a torn tail so new records append after the last complete one
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        recordsSinceCompaction = replayed;
+
+        return new ArrayList<>(roster.values());
+    }
+
+    public synchronized void recordAdd(Employee employee) throws IOException {
+        append(out -> {
+            out.writeByte(ADD);
+            out.writeUTF(employee.getId());
+            out.writeUTF(employee.getName() != null ? employee.getName() : "");
+            for (Day day : Day.values()) {
+                writePreference(out, day, employee.getPreference(day));
+            }
+        });
+    }
+
+    public synchronized void recordRename(Employee employee) throws IOException {
+        append(out -> {
+            out.writeByte(RENAME);
+            out.writeUTF(employee.getId());
+            out.writeUTF(employee.getName() != null ? employee.getName() : "");
+        });
+    }
+
+    public synchronized void recordDelete(Employee employee) throws IOException {
+        append(out -> {
+            out.writeByte(DELETE);
+            out.writeUTF(employee.getId());
+        });
+    }
+
+    public synchronized void recordPreference(Employee employee, Day day) throws IOException {
+        append(out -> {
+            out.writeByte(SET_PREFERENCE);
+            out.writeUTF(employee.getId());
+            writePreference(out, day, employee.getPreference(day));
+        });
+    }
+
+    public synchronized boolean needsCompaction() {
+        return recordsSinceCompaction >= compactThreshold;
+    }
+
+    public synchronized void compact(List<Employee> roster) throws IOException {
+        Path temp = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        SnapshotUtil.writeEmployees(roster, temp.toFile());
+        try (FileChannel snapshot = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            snapshot.force(true);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        unsynced = 0;
+        recordsSinceCompaction = 0;
+    }
+
+    public synchronized void sync() throws IOException {
+        if (unsynced > 0) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        syncTimer.shutdownNow();
+        sync();
+        channel.close();
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            // Retried on the next tick or on close
+        }
+    }
+
+    private void append(RecordWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writer.write(out);
+        byte[] payload = bytes.toByteArray();
+
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length);
+        record.putInt(checksum(payload));
+        record.put(payload);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+
+        recordsSinceCompaction++;
+        if (++unsynced >= syncBatch) {
+            sync();
+        }
+    }
+
+    private static void apply(Map<String, Employee> roster, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        String id = in.readUTF();
+
+        switch (type) {
+            case ADD: {
+                Employee employee = new Employee(in.readUTF());
+                employee.setId(id);
+                for (int i = 0; i < Day.values().length; i++) {
+                    readPreference(in, employee);
+                }
+                roster.put(id, employee);
+                break;
+            }
+            case RENAME: {
+                String name = in.readUTF();
+                Employee employee = roster.get(id);
+                if (employee != null) {
+                    employee.setName(name);
+                }
+                break;
+            }
+            case DELETE:
+                roster.remove(id);
+                break;
+            case SET_PREFERENCE: {
+                Employee employee = roster.get(id);
+                if (employee != null) {
+                    readPreference(in, employee);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown journal record type: " + type);
+        }
+    }
+
+    private static void writePreference(DataOutputStream out, Day day, Preference pref) throws IOException {
+        out.writeByte(day.ordinal());
+        if (pref.isSingle()) {
+            out.writeByte(1);
+            out.writeUTF(pref.getSingle().get());
+        } else if (pref.isRanked()) {
+            out.writeByte(2);
+            out.writeByte(pref.getRanked().size());
+            for (Map.Entry<String, Integer> entry : pref.getRanked().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeByte(entry.getValue());
+            }
+        } else {
+            out.writeByte(0);
+        }
+    }
+
+    private static void readPreference(DataInputStream in, Employee employee) throws IOException {
+        Day day = Day.values()[in.readByte()];
+        Preference pref = new Preference();
+        byte mode = in.readByte();
+        if (mode == 1) {
+            pref.setSingle(in.readUTF());
+        } else if (mode == 2) {
+            int count = in.readByte();
+            Map<String, Integer> ranked = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                ranked.put(in.readUTF(), (int) in.readByte());
+            }
+            pref.setRanked(ranked);
+        }
+        employee.setPreference(day, pref);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,183 @@
+package com.scheduler.util;
+
+import com.scheduler.model.Day;
+import com.scheduler.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Watches a roster JSON file that another system rewrites. Bursts of file events are
+// debounced into one reload, and each reload is diffed against the previous import by
+// employee id, so listeners only see the records that were added, changed or removed.
+// Records without an id in the file are matched by name instead and keep the id generated
+// for them on the first import, so an id-less roster does not look brand new every time.
+public class RosterWatcher implements Closeable {
+    private final Path file;
+    private final long debounceMillis;
+    private final Consumer<RosterChange> listener;
+    private final WatchService watchService;
+    private final Thread thread;
+    private Map<String, Employee> current = new LinkedHashMap<>();
+    private Map<String, String> signatures = new HashMap<>();
+    private volatile boolean running = true;
+
+    public static class RosterChange {
+        private final List<Employee> roster;
+        private final List<Employee> added;
+        private final List<Employee> updated;
+        private final List<Employee> removed;
+
+        RosterChange(List<Employee> roster, List<Employee> added, List<Employee> updated, List<Employee> removed) {
+            this.roster = roster;
+            this.added = added;
+            this.updated = updated;
+            this.removed = removed;
+        }
+
+        public List<Employee> getRoster() {
+            return roster;
+        }
+
+        public List<Employee> getAdded() {
+            return added;
+        }
+
+        public List<Employee> getUpdated() {
+            return updated;
+        }
+
+        public List<Employee> getRemoved() {
+            return removed;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private RosterWatcher(Path file, long debounceMillis, Consumer<RosterChange> listener) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.debounceMillis = debounceMillis;
+        this.listener = listener;
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watchLoop, "roster-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public static RosterWatcher start(Path file, long debounceMillis, Consumer<RosterChange> listener)
+            throws IOException {
+        RosterWatcher watcher = new RosterWatcher(file, debounceMillis, listener);
+        watcher.reload();
+        watcher.thread.start();
+        return watcher;
+    }
+
+    public List<Employee> getRoster() {
+        return new ArrayList<>(current.values());
+    }
+
+    public synchronized RosterChange reload() throws IOException {
+        List<Employee> imported = IOUtil.importEmployees(file.toFile());
+
+        // Compared by signature, since the previous Employee objects may since have been edited in the UI
+        Map<String, Employee> next = new LinkedHashMap<>();
+        Map<String, String> nextSignatures = new HashMap<>();
+        List<Employee> added = new ArrayList<>();
+        List<Employee> updated = new ArrayList<>();
+        Map<String, Integer> nameCounts = new HashMap<>();
+        for (Employee employee : imported) {
+            String key = keyOf(employee, nameCounts);
+            Employee previousEmployee = current.get(key);
+            if (!employee.hasId() && previousEmployee != null) {
+                employee.setId(previousEmployee.getId());
+            }
+
+            String signature = signature(employee);
+            next.put(key, employee);
+            nextSignatures.put(key, signature);
+            String previous = signatures.get(key);
+            if (previous == null) {
+                added.add(employee);
+            } else if (!previous.equals(signature)) {
+                updated.add(employee);
+            }
+        }
+
+        List<Employee> removed = new ArrayList<>();
+        for (Map.Entry<String, Employee> previous : current.entrySet()) {
+            if (!next.containsKey(previous.getKey())) {
+                removed.add(previous.getValue());
+            }
+        }
+
+        current = next;
+        signatures = nextSignatures;
+        return new RosterChange(imported, added, updated, removed);
+    }
+
+    // Repeated names in an id-less file are told apart by their order of appearance
+    private static String keyOf(Employee employee, Map<String, Integer> nameCounts) {
+        if (employee.hasId()) {
+            return employee.getId();
+        }
+        int occurrence = nameCounts.merge(String.valueOf(employee.getName()), 1, Integer::sum);
+        return "name:" + employee.getName() + "#" + occurrence;
+    }
+
+    private static String signature(Employee employee) {
+        StringBuilder signature = new StringBuilder(String.valueOf(employee.getName()));
+        for (Day day : Day.values()) {
+            signature.append('|').append(employee.getPreference(day).packed());
+        }
+        return signature.toString();
+    }
+
+    private void watchLoop() {
+        long deadline = -1;
+        while (running) {
+            try {
+                WatchKey key = deadline < 0
+                    ? watchService.take()
+                    : watchService.poll(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        Object context = event.context();
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                                || (context instanceof Path && file.getFileName().equals(context))) {
+                            // Every write pushes the deadline out, so a burst becomes one reload
+                            deadline = System.currentTimeMillis() + debounceMillis;
+                        }
+                    }
+                    key.reset();
+                }
+
+                if (deadline >= 0 && System.currentTimeMillis() >= deadline) {
+                    deadline = -1;
+                    RosterChange change = reload();
+                    if (!change.isEmpty()) {
+                        listener.accept(change);
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (IOException e) {
+                // Usually a half-written file; the writer's next event triggers another attempt
+                System.err.println("Roster reload failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,407 @@
+package com.scheduler.util;
+
+import com.scheduler.model.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Append-only columnar archive of published weeks, one row per assignment. Each column
+// lives in its own file as a deflated chunk per week:
+//   employee  int, index into names.txt (the name dictionary, one name per line)
+//   day, shift            byte ordinals
+//   source    byte, PlacementSource ordinal + 1, or 0 when unknown
+//   rank      byte, preference rank honoured, 0 otherwise
+// chunks.idx holds a fixed-width record per chunk (week, rows, offset and length per column)
+// and is written last, so a torn append is ignored on open. Re-archiving a week supersedes
+// the older chunk. A cell whose placement no longer matches the solver's (a manual move)
+// is stored with an unknown source and no rank. Queries map only the columns they read
+// and inflate each chunk into reused primitive arrays, so a year of history is a few
+// tight loops rather than JSON parsing.
+public class ScheduleHistoryStore implements Closeable {
+    public static final int MAGIC = 0x45534849; // "ESHI"
+    public static final int VERSION = 1;
+
+    static final int EMPLOYEE = 0;
+    static final int DAY = 1;
+    static final int SHIFT = 2;
+    static final int SOURCE = 3;
+    static final int RANK = 4;
+    private static final String[] COLUMN_FILES = {"employee.col", "day.col", "shift.col", "source.col", "rank.col"};
+    private static final int[] COLUMN_WIDTHS = {4, 1, 1, 1, 1};
+    private static final int COLUMNS = COLUMN_FILES.length;
+
+    static final int HEADER_BYTES = 8;
+    static final int INDEX_RECORD_BYTES = 8 + 4 + COLUMNS * 12;
+
+    private static final Day[] DAYS = Day.values();
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final PlacementSource[] SOURCES = PlacementSource.values();
+
+    private final Path directory;
+    private final FileChannel index;
+    private final FileChannel[] columns = new FileChannel[COLUMNS];
+    private final MappedByteBuffer[] mapped = new MappedByteBuffer[COLUMNS];
+    private final FileChannel dictionary;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final Map<LocalDate, Chunk> latest = new HashMap<>();
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private byte[] scratch = new byte[0];
+    private int[] employeeColumn = new int[0];
+    private byte[] filterColumn = new byte[0];
+
+    private static class Chunk {
+        final LocalDate week;
+        final int rows;
+        final long[] offsets = new long[COLUMNS];
+        final int[] lengths = new int[COLUMNS];
+
+        Chunk(LocalDate week, int rows) {
+            this.week = week;
+            this.rows = rows;
+        }
+    }
+
+    private ScheduleHistoryStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        this.dictionary = FileChannel.open(directory.resolve("names.txt"), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        readDictionary();
+
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = FileChannel.open(directory.resolve(COLUMN_FILES[c]), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        this.index = FileChannel.open(directory.resolve("chunks.idx"), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        readIndex();
+    }
+
+    public static ScheduleHistoryStore open(Path directory) throws IOException {
+        return new ScheduleHistoryStore(directory);
+    }
+
+    public static Path defaultDirectory() {
+        return RosterJournal.defaultDirectory().resolve("history");
+    }
+
+    public synchronized void append(LocalDate weekStart, SchedulingResult result) throws IOException {
+        append(weekStart, result.getSchedule(), result.placements());
+    }
+
+    public synchronized void append(LocalDate weekStart, ScheduleView schedule, PlacementIndex placements)
+            throws IOException {
+        int rows = 0;
+        for (Day day : DAYS) {
+            for (Shift shift : SHIFTS) {
+                rows += schedule.getAssignedEmployees(day, shift).size();
+            }
+        }
+
+        ByteBuffer[] values = new ByteBuffer[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            values[c] = ByteBuffer.allocate(rows * COLUMN_WIDTHS[c]);
+        }
+        for (Day day : DAYS) {
+            for (Shift shift : SHIFTS) {
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    boolean solved = placements.shiftOf(name, day) == shift;
+                    PlacementSource source = solved ? placements.sourceOf(name, day) : null;
+                    values[EMPLOYEE].putInt(idFor(name));
+                    values[DAY].put((byte) day.ordinal());
+                    values[SHIFT].put((byte) shift.ordinal());
+                    values[SOURCE].put((byte) (source == null ? 0 : source.ordinal() + 1));
+                    values[RANK].put((byte) (solved ? placements.rankOf(name, day) : 0));
+                }
+            }
+        }
+        // New names reach the disk before any chunk refers to them
+        dictionary.force(false);
+
+        Chunk chunk = new Chunk(weekStart, rows);
+        for (int c = 0; c < COLUMNS; c++) {
+            byte[] compressed = compress(values[c].array());
+            chunk.offsets[c] = columns[c].size();
+            chunk.lengths[c] = compressed.length;
+            writeFully(columns[c], ByteBuffer.wrap(compressed), chunk.offsets[c]);
+            columns[c].force(false);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(INDEX_RECORD_BYTES);
+        record.putLong(weekStart.toEpochDay()).putInt(rows);
+        for (int c = 0; c < COLUMNS; c++) {
+            record.putLong(chunk.offsets[c]).putInt(chunk.lengths[c]);
+        }
+        record.flip();
+        writeFully(index, record, HEADER_BYTES + (long) chunks.size() * INDEX_RECORD_BYTES);
+        index.force(false);
+
+        chunks.add(chunk);
+        latest.put(weekStart, chunk);
+    }
+
+    public synchronized List<LocalDate> weeks() {
+        List<LocalDate> weeks = new ArrayList<>(latest.keySet());
+        Collections.sort(weeks);
+        return weeks;
+    }
+
+    public synchronized Schedule loadWeek(LocalDate weekStart) throws IOException {
+        Chunk chunk = latest.get(weekStart);
+        Schedule schedule = new Schedule();
+        if (chunk == null) {
+            return schedule;
+        }
+
+        int[] employees = readEmployees(chunk);
+        byte[] days = inflate(DAY, chunk, new byte[chunk.rows]);
+        byte[] shifts = inflate(SHIFT, chunk, new byte[chunk.rows]);
+        for (int i = 0; i < chunk.rows; i++) {
+            schedule.assignEmployee(DAYS[days[i]], SHIFTS[shifts[i]], names.get(employees[i]));
+        }
+        return schedule;
+    }
+
+    // Assignments per employee for weeks starting in [from, to]
+    public synchronized Map<String, Integer> shiftsPerEmployee(LocalDate from, LocalDate to) throws IOException {
+        return countPerEmployee(from, to, -1, 0);
+    }
+
+    // e.g. backfills per employee over the last 52 weeks
+    public synchronized Map<String, Integer> countPerEmployee(PlacementSource source, LocalDate from, LocalDate to)
+            throws IOException {
+        return countPerEmployee(from, to, SOURCE, source.ordinal() + 1);
+    }
+
+    public synchronized Map<String, Integer> countPerEmployeeWithRank(int rank, LocalDate from, LocalDate to)
+            throws IOException {
+        return countPerEmployee(from, to, RANK, rank);
+    }
+
+    private Map<String, Integer> countPerEmployee(LocalDate from, LocalDate to, int column, int value)
+            throws IOException {
+        int[] counts = new int[names.size()];
+        for (Chunk chunk : latest.values()) {
+            if (chunk.week.isBefore(from) || chunk.week.isAfter(to)) {
+                continue;
+            }
+
+            int[] employees = readEmployees(chunk);
+            int rows = chunk.rows;
+            if (column < 0) {
+                for (int i = 0; i < rows; i++) {
+                    counts[employees[i]]++;
+                }
+            } else {
+                byte[] filter = inflate(column, chunk, filterBuffer(rows));
+                byte wanted = (byte) value;
+                for (int i = 0; i < rows; i++) {
+                    counts[employees[i]] += filter[i] == wanted ? 1 : 0;
+                }
+            }
+        }
+
+        Map<String, Integer> byName = new LinkedHashMap<>();
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                byName.merge(names.get(id), counts[id], Integer::sum);
+            }
+        }
+        return byName;
+    }
+
+    private int idFor(String name) throws IOException {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Employee names may not contain line breaks: " + name);
+        }
+        id = names.size();
+        names.add(name);
+        ids.put(name, id);
+        writeFully(dictionary, StandardCharsets.UTF_8.encode(name + "\n"), dictionary.size());
+        return id;
+    }
+
+    private byte[] compress(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] out = new byte[Math.max(64, raw.length / 2)];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    private int[] readEmployees(Chunk chunk) throws IOException {
+        int rows = chunk.rows;
+        if (scratch.length < rows * 4) {
+            scratch = new byte[rows * 4];
+        }
+        if (employeeColumn.length < rows) {
+            employeeColumn = new int[rows];
+        }
+        inflate(EMPLOYEE, chunk, scratch);
+        ByteBuffer.wrap(scratch, 0, rows * 4).asIntBuffer().get(employeeColumn, 0, rows);
+        return employeeColumn;
+    }
+
+    private byte[] filterBuffer(int rows) {
+        if (filterColumn.length < rows) {
+            filterColumn = new byte[rows];
+        }
+        return filterColumn;
+    }
+
+    private byte[] inflate(int column, Chunk chunk, byte[] out) throws IOException {
+        int expected = chunk.rows * COLUMN_WIDTHS[column];
+        inflater.reset();
+        inflater.setInput(mapped(column, chunk).slice((int) chunk.offsets[column], chunk.lengths[column]));
+        try {
+            int length = 0;
+            while (length < expected && !inflater.finished()) {
+                int n = inflater.inflate(out, length, expected - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != expected) {
+                throw new IOException(String.format("Corrupt %s chunk for week %s", COLUMN_FILES[column], chunk.week));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(String.format("Corrupt %s chunk for week %s", COLUMN_FILES[column], chunk.week), e);
+        }
+        return out;
+    }
+
+    // Mapped once and remapped only when a chunk lies past the current mapping
+    private MappedByteBuffer mapped(int column, Chunk chunk) throws IOException {
+        long end = chunk.offsets[column] + chunk.lengths[column];
+        MappedByteBuffer buffer = mapped[column];
+        if (buffer == null || buffer.capacity() < end) {
+            buffer = columns[column].map(FileChannel.MapMode.READ_ONLY, 0, columns[column].size());
+            mapped[column] = buffer;
+        }
+        return buffer;
+    }
+
+    // A name torn by a crash has no newline; it is cut off so later names keep their ids.
+    // No chunk can refer to it, since columns are only written after the dictionary is forced.
+    private void readDictionary() throws IOException {
+        ByteBuffer contents = ByteBuffer.allocate((int) dictionary.size());
+        readFully(dictionary, contents, 0);
+        byte[] bytes = contents.array();
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end < bytes.length) {
+            dictionary.truncate(end);
+        }
+
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '\n') {
+                String name = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+                ids.putIfAbsent(name, names.size());
+                names.add(name);
+                start = i + 1;
+            }
+        }
+    }
+
+    private void readIndex() throws IOException {
+        long size = index.size();
+        if (size < HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            index.truncate(0);
+            writeFully(index, header, 0);
+            index.force(true);
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(index, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a schedule history index: " + directory.resolve("chunks.idx"));
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported schedule history version " + version);
+        }
+
+        // A partially written trailing record is dropped and overwritten by the next append
+        int count = (int) ((size - HEADER_BYTES) / INDEX_RECORD_BYTES);
+        ByteBuffer records = ByteBuffer.allocate(count * INDEX_RECORD_BYTES);
+        readFully(index, records, HEADER_BYTES);
+        records.flip();
+        for (int i = 0; i < count; i++) {
+            Chunk chunk = new Chunk(LocalDate.ofEpochDay(records.getLong()), records.getInt());
+            for (int c = 0; c < COLUMNS; c++) {
+                chunk.offsets[c] = records.getLong();
+                chunk.lengths[c] = records.getInt();
+            }
+            chunks.add(chunk);
+            latest.put(chunk.week, chunk);
+        }
+        index.truncate(HEADER_BYTES + (long) count * INDEX_RECORD_BYTES);
+    }
+
+    // A positional write or read may move fewer bytes than asked, so both loop until done
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, at);
+            if (n < 0) {
+                throw new IOException("Schedule history file ended early at byte " + at);
+            }
+            at += n;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        deflater.end();
+        inflater.end();
+        dictionary.close();
+        index.close();
+        for (FileChannel column : columns) {
+            column.close();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.scheduler.util;
+
+import com.scheduler.model.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// Binary snapshot layout (big-endian):
+//   header    magic, version, kind, string count, string bytes, three record counts, CRC32 of the body
+//   strings   (count + 1) int offsets followed by the UTF-8 bytes of every distinct string
+//   records   fixed-width; see writeEmployees / writeResult
+public class SnapshotUtil {
+    public static final int MAGIC = 0x45535353; // "ESSS"
+    public static final short VERSION = 1;
+
+    static final byte KIND_ROSTER = 1;
+    static final byte KIND_RESULT = 2;
+
+    // magic, version, kind, padding, string count, string bytes, three record counts, CRC
+    static final int HEADER_BYTES = 4 + 2 + 1 + 1 + 5 * 4 + 8;
+    static final int EMPLOYEE_RECORD_BYTES = 8 + Day.values().length * 4;
+    static final int ASSIGNMENT_RECORD_BYTES = 8;
+    static final int STAT_RECORD_BYTES = 12;
+    static final int LOG_RECORD_BYTES = 4;
+
+    private static final int NO_STRING = -1;
+    private static final byte NO_SHIFT = -1;
+
+    public static void writeEmployees(List<Employee> employees, File file) throws IOException {
+        StringTable strings = new StringTable();
+        for (Employee employee : employees) {
+            strings.add(employee.getId());
+            strings.add(employee.getName());
+        }
+
+        ByteBuffer body = strings.allocateBody(employees.size() * EMPLOYEE_RECORD_BYTES);
+        for (Employee employee : employees) {
+            body.putInt(strings.ref(employee.getId()));
+            body.putInt(strings.ref(employee.getName()));
+            for (Day day : Day.values()) {
+                putPreference(body, employee.getPreference(day));
+            }
+        }
+
+        write(file, KIND_ROSTER, strings, body, employees.size(), 0, 0);
+    }
+
+    public static List<Employee> readEmployees(File file) throws IOException {
+        ByteBuffer buffer = map(file);
+        Header header = readHeader(buffer, KIND_ROSTER);
+        String[] strings = readStrings(buffer, header);
+
+        List<Employee> employees = new ArrayList<>(header.count1);
+        for (int i = 0; i < header.count1; i++) {
+            Employee employee = new Employee();
+            employee.setId(lookup(strings, buffer.getInt()));
+            employee.setName(lookup(strings, buffer.getInt()));
+            for (Day day : Day.values()) {
+                employee.setPreference(day, getPreference(buffer));
+            }
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    public static void writeResult(SchedulingResult result, File file) throws IOException {
+        Schedule schedule = result.getSchedule();
+        StringTable strings = new StringTable();
+        int assignments = 0;
+
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    strings.add(name);
+                    assignments++;
+                }
+            }
+        }
+
+        Map<String, Double> stats = new TreeMap<>(result.getStats());
+        stats.keySet().forEach(strings::add);
+        result.getLogs().forEach(strings::add);
+
+        ByteBuffer body = strings.allocateBody(assignments * ASSIGNMENT_RECORD_BYTES
+            + stats.size() * STAT_RECORD_BYTES
+            + result.getLogs().size() * LOG_RECORD_BYTES);
+
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    body.put((byte) day.ordinal());
+                    body.put((byte) shift.ordinal());
+                    body.putShort((short) 0);
+                    body.putInt(strings.ref(name));
+                }
+            }
+        }
+
+        for (Map.Entry<String, Double> stat : stats.entrySet()) {
+            body.putInt(strings.ref(stat.getKey()));
+            body.putDouble(stat.getValue());
+        }
+
+        for (String log : result.getLogs()) {
+            body.putInt(strings.ref(log));
+        }
+
+        write(file, KIND_RESULT, strings, body, assignments, stats.size(), result.getLogs().size());
+    }
+
+    public static SchedulingResult readResult(File file) throws IOException {
+        ByteBuffer buffer = map(file);
+        Header header = readHeader(buffer, KIND_RESULT);
+        String[] strings = readStrings(buffer, header);
+
+        Day[] days = Day.values();
+        Shift[] shifts = Shift.values();
+        Schedule schedule = new Schedule();
+        for (int i = 0; i < header.count1; i++) {
+            int day = buffer.get();
+            int shift = buffer.get();
+            buffer.getShort();
+            if (day < 0 || day >= days.length || shift < 0 || shift >= shifts.length) {
+                throw new IOException("Corrupt assignment record " + i);
+            }
+            schedule.assignEmployee(days[day], shifts[shift], lookup(strings, buffer.getInt()));
+        }
+
+        Map<String, Double> stats = new HashMap<>();
+        for (int i = 0; i < header.count2; i++) {
+            String key = lookup(strings, buffer.getInt());
+            stats.put(key, buffer.getDouble());
+        }
+
+        List<String> logs = new ArrayList<>(header.count3);
+        for (int i = 0; i < header.count3; i++) {
+            logs.add(lookup(strings, buffer.getInt()));
+        }
+
+        return new SchedulingResult(schedule, stats, logs);
+    }
+
+    private static void putPreference(ByteBuffer body, Preference pref) {
+        Shift single = pref.singleShift();
+        body.put(single != null ? (byte) single.ordinal() : NO_SHIFT);
+        for (Shift shift : Shift.values()) {
+            body.put((byte) pref.rankOf(shift));
+        }
+    }
+
+    private static Preference getPreference(ByteBuffer buffer) {
+        Shift[] shifts = Shift.values();
+        Preference pref = new Preference();
+
+        byte single = buffer.get();
+        Map<String, Integer> ranked = new HashMap<>();
+        for (Shift shift : shifts) {
+            byte rank = buffer.get();
+            if (rank > 0) {
+                ranked.put(shift.name(), (int) rank);
+            }
+        }
+
+        if (single >= 0 && single < shifts.length) {
+            pref.setSingle(shifts[single].name());
+        } else if (!ranked.isEmpty()) {
+            pref.setRanked(ranked);
+        }
+        return pref;
+    }
+
+    private static void write(File file, byte kind, StringTable strings, ByteBuffer body,
+                              int count1, int count2, int count3) throws IOException {
+        body.flip();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put(kind);
+        header.put((byte) 0);
+        header.putInt(strings.size());
+        header.putInt(strings.byteSize());
+        header.putInt(count1);
+        header.putInt(count2);
+        header.putInt(count3);
+        header.putLong(crc.getValue());
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static Header readHeader(ByteBuffer buffer, byte expectedKind) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IOException("Snapshot too short");
+        }
+
+        Header header = new Header();
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a scheduler snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        byte kind = buffer.get();
+        if (kind != expectedKind) {
+            throw new IOException("Unexpected snapshot kind: " + kind);
+        }
+        buffer.get();
+        header.stringCount = buffer.getInt();
+        header.stringBytes = buffer.getInt();
+        header.count1 = buffer.getInt();
+        header.count2 = buffer.getInt();
+        header.count3 = buffer.getInt();
+        long expectedCrc = buffer.getLong();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        return header;
+    }
+
+    private static String[] readStrings(ByteBuffer buffer, Header header) {
+        int[] offsets = new int[header.stringCount + 1];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = buffer.getInt();
+        }
+
+        int base = buffer.position();
+        String[] strings = new String[header.stringCount];
+        for (int i = 0; i < strings.length; i++) {
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(base + offsets[i]).limit(base + offsets[i + 1]);
+            strings[i] = StandardCharsets.UTF_8.decode(slice).toString();
+        }
+
+        buffer.position(base + header.stringBytes);
+        return strings;
+    }
+
+    private static String lookup(String[] strings, int ref) throws IOException {
+        if (ref == NO_STRING) {
+            return null;
+        }
+        if (ref < 0 || ref >= strings.length) {
+            throw new IOException("Corrupt string reference: " + ref);
+        }
+        return strings[ref];
+    }
+
+    private static class Header {
+        int stringCount;
+        int stringBytes;
+        int count1;
+        int count2;
+        int count3;
+    }
+
+    private static class StringTable {
+        private final Map<String, Integer> refs = new LinkedHashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int byteSize;
+
+        void add(String value) {
+            if (value != null && !refs.containsKey(value)) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                refs.put(value, encoded.size());
+                encoded.add(bytes);
+                byteSize += bytes.length;
+            }
+        }
+
+        int ref(String value) {
+            return value == null ? NO_STRING : refs.get(value);
+        }
+
+        int size() {
+            return encoded.size();
+        }
+
+        int byteSize() {
+            return byteSize;
+        }
+
+        ByteBuffer allocateBody(int recordBytes) {
+            ByteBuffer body = ByteBuffer.allocate((encoded.size() + 1) * 4 + byteSize + recordBytes);
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                body.putInt(offset);
+                offset += bytes.length;
+            }
+            body.putInt(offset);
+            for (byte[] bytes : encoded) {
+                body.put(bytes);
+            }
+            return body;
+        }
+    }
+}
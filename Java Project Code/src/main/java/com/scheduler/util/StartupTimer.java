@@ -0,0 +1,93 @@
+package com.scheduler.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Time to first frame, measured from process start (falling back to when this class was
+// loaded) and appended to startup.csv so runs with and without the AppCDS archive can be
+// compared. java.vm.info reads "sharing" whenever a CDS archive was mapped. Nothing is
+// recorded unless -Dscheduler.startupLog is set, and the log keeps only recent starts.
+public class StartupTimer {
+    public static final String LOG_PROPERTY = "scheduler.startupLog";
+    static final int MAX_ENTRIES = 500;
+    private static final String HEADER = "timestamp,firstFrameMillis,vm";
+    private static final long LOADED_AT = System.currentTimeMillis();
+
+    private StartupTimer() {
+    }
+
+    public static long millisSinceStart() {
+        long start = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(LOADED_AT);
+        return System.currentTimeMillis() - start;
+    }
+
+    public static Path defaultLog() {
+        return RosterJournal.defaultDirectory().resolve("startup.csv");
+    }
+
+    // "true" selects defaultLog(), any other value is a path; null when logging is off
+    public static Path configuredLog() {
+        String value = System.getProperty(LOG_PROPERTY);
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("false")) {
+            return null;
+        }
+        return value.equalsIgnoreCase("true") ? defaultLog() : Path.of(value);
+    }
+
+    public static void record(Path log, long firstFrameMillis) throws IOException {
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        boolean fresh = !Files.exists(log);
+        try (Writer writer = Files.newBufferedWriter(log, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (fresh) {
+                writer.write(HEADER + "\n");
+            }
+            writer.write(String.format("%s,%d,\"%s\"%n", Instant.now(), firstFrameMillis,
+                System.getProperty("java.vm.info", "").replace("\"", "'")));
+        }
+        trim(log);
+    }
+
+    // Past twice the limit, drop the oldest starts so the log stays bounded
+    private static void trim(Path log) throws IOException {
+        List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+        if (lines.size() <= 2 * MAX_ENTRIES + 1) {
+            return;
+        }
+        List<String> kept = new ArrayList<>();
+        kept.add(HEADER);
+        kept.addAll(lines.subList(lines.size() - MAX_ENTRIES, lines.size()));
+        Path temp = log.resolveSibling(log.getFileName() + ".tmp");
+        Files.write(temp, kept, StandardCharsets.UTF_8);
+        Files.move(temp, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // First-frame times from the log, oldest first
+    public static List<Long> history(Path log) throws IOException {
+        List<Long> times = new ArrayList<>();
+        if (!Files.exists(log)) {
+            return times;
+        }
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",", 3);
+            if (parts.length >= 2 && !line.startsWith("timestamp")) {
+                try {
+                    times.add(Long.parseLong(parts[1]));
+                } catch (NumberFormatException e) {
+                    // Skip lines from a torn write
+                }
+            }
+        }
+        return times;
+    }
+}
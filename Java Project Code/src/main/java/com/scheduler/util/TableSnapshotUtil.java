@@ -1,24 +1,113 @@
 package com.scheduler.util;
 
-import javafx.embed.swing.SwingFXUtils;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+// Saves a node as PNG without holding the full bitmap. A background thread asks the FX
+// thread for one band of rows at a time; the band is snapshotted as tiles through
+// SnapshotParameters viewports into a reused image, then handed to the streaming encoder.
+// Memory stays at one band (width x tileSize pixels) however large the grid grows.
 public class TableSnapshotUtil {
+    public static final int DEFAULT_TILE_SIZE = 512;
 
-    public static void saveNodeAsPNG(Node node, File file) throws IOException {
-        SnapshotParameters params = new SnapshotParameters();
+    private static final ExecutorService ENCODER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "png-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TableSnapshotUtil() {
+    }
+
+    public static CompletableFuture<File> saveNodeAsPNG(Node node, File file) {
+        return saveNodeAsPNG(node, file, DEFAULT_TILE_SIZE);
+    }
+
+    // Must be called on the FX thread; the future completes on the encoder thread
+    public static CompletableFuture<File> saveNodeAsPNG(Node node, File file, int tileSize) {
+        Bounds bounds = node.getBoundsInParent();
+        int width = (int) Math.ceil(bounds.getWidth());
+        int height = (int) Math.ceil(bounds.getHeight());
+        CompletableFuture<File> result = new CompletableFuture<>();
 
-        WritableImage writableImage = node.snapshot(params, null);
+        ENCODER.execute(() -> {
+            try {
+                writeTiled(node, bounds, width, height, tileSize, file);
+                result.complete(file);
+            } catch (Throwable e) {
+                // A truncated PNG is worse than none
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static void writeTiled(Node node, Bounds bounds, int width, int height, int tileSize, File file)
+            throws IOException {
+        int bandHeight = Math.min(tileSize, height);
+        int[] band = new int[width * bandHeight];
+        WritableImage tile = new WritableImage(Math.min(tileSize, width), bandHeight);
+
+        try (PngStreamWriter writer = new PngStreamWriter(
+                new BufferedOutputStream(Files.newOutputStream(file.toPath()), 1 << 16), width, height)) {
+            for (int y = 0; y < height; y += bandHeight) {
+                int top = y;
+                int rows = Math.min(bandHeight, height - y);
+                onFxThread(() -> snapshotBand(node, bounds, top, rows, width, tile, band));
+                writer.writeRows(band, rows);
+            }
+        }
+    }
 
-        BufferedImage bufferedImage = SwingFXUtils.fromFXImage(writableImage, null);
+    private static void snapshotBand(Node node, Bounds bounds, int top, int rows, int width,
+                                     WritableImage tile, int[] band) {
+        SnapshotParameters params = new SnapshotParameters();
+        int tileWidth = (int) tile.getWidth();
+        for (int x = 0; x < width; x += tileWidth) {
+            int cols = Math.min(tileWidth, width - x);
+            // Viewports are in the parent's coordinates, the same space as boundsInParent
+            params.setViewport(new Rectangle2D(bounds.getMinX() + x, bounds.getMinY() + top, cols, rows));
+            node.snapshot(params, tile);
+            tile.getPixelReader().getPixels(0, 0, cols, rows, PixelFormat.getIntArgbInstance(), band, x, width);
+        }
+    }
 
-        ImageIO.write(bufferedImage, "png", file);
+    private static void onFxThread(Runnable action) throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                action.run();
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PNG export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Snapshot failed", e.getCause());
+        }
     }
 }
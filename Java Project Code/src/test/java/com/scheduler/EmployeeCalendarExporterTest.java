@@ -0,0 +1,101 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.util.EmployeeCalendarExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCalendarExporterTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 3, 4);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDirectoryExportWritesOneFilePerEmployee() throws IOException {
+        Schedule schedule = new Schedule();
+        schedule.assignEmployee(Day.MON, Shift.MORNING, "Alice Smith");
+        schedule.assignEmployee(Day.WED, Shift.EVENING, "Alice Smith");
+        schedule.assignEmployee(Day.MON, Shift.MORNING, "Bob");
+
+        Path out = tempDir.resolve("calendars");
+        int written = EmployeeCalendarExporter.exportToDirectory(schedule, WEEK_START,
+            EmployeeCalendarExporter.Format.CSV, out, 4);
+
+        assertEquals(2, written);
+        List<String> alice = Files.readAllLines(out.resolve("Alice_Smith.csv"));
+        assertEquals(List.of(
+            "Day,Date,Shift,Start,End",
+            "MON,2024-03-04,MORNING,06:00,12:00",
+            "WED,2024-03-06,EVENING,18:00,00:00"), alice);
+        assertEquals(2, Files.readAllLines(out.resolve("Bob.csv")).size());
+    }
+
+    @Test
+    void testZipExportStreamsCalendarEntries() throws IOException {
+        Schedule schedule = new Schedule();
+        schedule.assignEmployee(Day.TUE, Shift.AFTERNOON, "O'Neil, Pat");
+        schedule.assignEmployee(Day.SUN, Shift.MORNING, "O'Neil; Pat");
+
+        Path zip = tempDir.resolve("calendars.zip");
+        assertEquals(2, EmployeeCalendarExporter.exportToZip(schedule, WEEK_START,
+            EmployeeCalendarExporter.Format.ICS, zip));
+
+        List<String> names = new ArrayList<>();
+        String first = null;
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry entry; (entry = in.getNextEntry()) != null; ) {
+                names.add(entry.getName());
+                String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                if (first == null) {
+                    first = content;
+                }
+            }
+        }
+
+        // Both names sanitize to the same stem, so the second one is numbered
+        assertEquals(List.of("O_Neil_Pat.ics", "O_Neil_Pat-2.ics"), names);
+        assertTrue(first.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(first.contains("DTSTART:20240305T120000\r\n"));
+        assertTrue(first.contains("SUMMARY:AFTERNOON shift - O'Neil\\, Pat\r\n"));
+        assertTrue(first.endsWith("END:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void testAsyncZipExportEncodesNonAsciiNamesAndReportsFailures() throws Exception {
+        Schedule schedule = new Schedule();
+        for (int i = 0; i < 50; i++) {
+            schedule.assignEmployee(Day.values()[i % 7], Shift.MORNING, "Zoë Ångström " + i);
+        }
+
+        Path zip = tempDir.resolve("async.zip");
+        assertEquals(50, EmployeeCalendarExporter.exportToZipAsync(schedule, WEEK_START,
+            EmployeeCalendarExporter.Format.ICS, zip).get());
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            in.getNextEntry();
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                .contains("SUMMARY:MORNING shift - Zoë Ångström 0\r\n"));
+        }
+
+        Path missing = tempDir.resolve("no-such-dir").resolve("calendars.zip");
+        ExecutionException failure = assertThrows(ExecutionException.class, () ->
+            EmployeeCalendarExporter.exportToZipAsync(schedule, WEEK_START,
+                EmployeeCalendarExporter.Format.ICS, missing).get());
+        assertInstanceOf(IOException.class, failure.getCause());
+        assertFalse(Files.exists(missing));
+    }
+}
@@ -0,0 +1,80 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.util.IOUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testJsonRoundTripKeepsSchema() throws IOException {
+        List<Employee> employees = IOUtil.loadSampleData();
+        File file = tempDir.resolve("employees.json").toFile();
+
+        IOUtil.exportEmployees(employees, file);
+        List<Employee> reloaded = IOUtil.importEmployees(file);
+
+        assertEquals(employees.size(), reloaded.size());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).getId(), reloaded.get(i).getId());
+            assertEquals(employees.get(i).getName(), reloaded.get(i).getName());
+            for (Day day : Day.values()) {
+                assertSame(employees.get(i).getPreference(day), reloaded.get(i).getPreference(day),
+                    "Equal preferences should resolve to the same shared instance");
+            }
+        }
+
+        Employee alice = reloaded.get(0);
+        assertEquals(Map.of("MORNING", 1, "AFTERNOON", 2, "EVENING", 3), alice.getPreference(Day.MON).getRanked());
+        assertEquals("AFTERNOON", alice.getPreference(Day.TUE).getSingle().orElse(null));
+        assertFalse(alice.getPreference(Day.FRI).hasPreference());
+    }
+
+    @Test
+    void testPreferencesAreSharedFlyweights() {
+        Employee first = new Employee("First");
+        Employee second = new Employee("Second");
+
+        assertSame(Preference.NONE, first.getPreference(Day.MON));
+        assertSame(first.getPreference(Day.SUN), second.getPreference(Day.WED));
+
+        Preference pref = new Preference();
+        pref.setRanked(Map.of("evening", 1, "MORNING", 2));
+        first.setPreference(Day.MON, pref);
+        second.setPreference(Day.TUE, pref);
+
+        Preference shared = first.getPreference(Day.MON);
+        assertSame(shared, second.getPreference(Day.TUE));
+        assertEquals(1, shared.rankOf(Shift.EVENING));
+        assertEquals(2, shared.rankOf(Shift.MORNING));
+        assertEquals(0, shared.rankOf(Shift.AFTERNOON));
+        assertThrows(UnsupportedOperationException.class, () -> shared.setSingle("MORNING"));
+    }
+
+    @Test
+    void testSingleAndRankedAreExclusive() {
+        Preference pref = new Preference();
+        pref.setRanked(Map.of("MORNING", 1));
+        pref.setSingle("EVENING");
+
+        assertTrue(pref.isSingle());
+        assertFalse(pref.isRanked());
+        assertEquals(Shift.EVENING, pref.singleShift());
+
+        pref.setRanked(Map.of("AFTERNOON", 1));
+        assertFalse(pref.isSingle());
+        assertEquals(Preference.fromPacked(pref.packed()).getRanked(), pref.getRanked());
+    }
+}
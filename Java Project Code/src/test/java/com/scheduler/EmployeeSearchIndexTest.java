@@ -0,0 +1,81 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.util.EmployeeSearchIndex;
+import com.scheduler.util.IOUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSearchIndexTest {
+
+    private static List<String> names(List<Employee> employees, Predicate<Employee> predicate) {
+        return employees.stream()
+            .filter(predicate)
+            .map(Employee::getName)
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void testSubstringSearchMatchesNamesAndIds() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        index.addAll(employees);
+
+        assertEquals(List.of("Alice Johnson"), names(employees, index.predicate("alice")));
+        assertEquals(List.of("Alice Johnson"), names(employees, index.predicate("ICE JOHN")));
+        assertEquals(List.of("Bob Smith"), names(employees, index.predicate("emp-002")));
+        assertEquals(employees.size(), names(employees, index.predicate("  ")).size());
+        assertTrue(names(employees, index.predicate("zzzz")).isEmpty());
+    }
+
+    @Test
+    void testPreferenceAttributeFilter() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        index.addAll(employees);
+
+        List<String> matched = names(employees, index.predicate("MON:MORNING=1"));
+
+        List<String> expected = employees.stream()
+            .filter(e -> {
+                Preference pref = e.getPreference(Day.MON);
+                return pref.getSingle().map("MORNING"::equals).orElse(false)
+                    || Integer.valueOf(1).equals(pref.getRanked().get("MORNING"));
+            })
+            .map(Employee::getName)
+            .collect(Collectors.toList());
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, matched);
+        assertTrue(matched.contains("Alice Johnson"));
+        assertEquals(List.of("Alice Johnson"), names(employees, index.predicate("alice mon:morning=1")));
+    }
+
+    @Test
+    void testIndexUpdatesIncrementally() {
+        Employee emp = new Employee("Carol");
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        index.add(emp);
+        List<Employee> employees = List.of(emp);
+
+        assertEquals(1, names(employees, index.predicate("carol")).size());
+
+        emp.setName("Dana");
+        Preference pref = new Preference();
+        pref.setSingle("EVENING");
+        emp.setPreference(Day.FRI, pref);
+        index.update(emp);
+
+        assertTrue(names(employees, index.predicate("carol")).isEmpty());
+        assertEquals(1, names(employees, index.predicate("dana FRI:EVENING")).size());
+
+        index.remove(emp);
+        assertTrue(names(employees, index.predicate("dana")).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
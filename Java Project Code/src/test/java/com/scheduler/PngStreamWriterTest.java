@@ -0,0 +1,59 @@
+package com.scheduler;
+
+import com.scheduler.util.PngStreamWriter;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PngStreamWriterTest {
+
+    @Test
+    void testBandsDecodeToOriginalPixels() throws IOException {
+        int width = 300;
+        int height = 257;
+        int band = 64;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int[] rows = new int[width * band];
+        try (PngStreamWriter writer = new PngStreamWriter(bytes, width, height)) {
+            for (int y = 0; y < height; y += band) {
+                int count = Math.min(band, height - y);
+                for (int r = 0; r < count; r++) {
+                    for (int x = 0; x < width; x++) {
+                        rows[r * width + x] = pixel(x, y + r);
+                    }
+                }
+                writer.writeRows(rows, count);
+            }
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        for (int y = 0; y < height; y += 17) {
+            for (int x = 0; x < width; x += 13) {
+                assertEquals(pixel(x, y), image.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testShortImageIsRejected() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        assertThrows(IOException.class, () -> {
+            try (PngStreamWriter writer = new PngStreamWriter(bytes, 4, 4)) {
+                writer.writeRows(new int[8], 2);
+            }
+        });
+    }
+
+    private static int pixel(int x, int y) {
+        return 0xFF000000 | (x * 7 & 0xFF) << 16 | (y * 3 & 0xFF) << 8 | ((x ^ y) & 0xFF);
+    }
+}
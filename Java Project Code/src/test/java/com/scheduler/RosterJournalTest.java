@@ -0,0 +1,111 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.util.RosterJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEditsAreReplayedAfterReopen() throws IOException {
+        Employee alice = new Employee("Alice");
+        Employee bob = new Employee("Bob");
+
+        try (RosterJournal journal = RosterJournal.open(tempDir)) {
+            assertTrue(journal.recover().isEmpty());
+            journal.recordAdd(alice);
+            journal.recordAdd(bob);
+
+            alice.setName("Alice Johnson");
+            journal.recordRename(alice);
+
+            Preference pref = new Preference();
+            pref.setRanked(Map.of("EVENING", 1, "MORNING", 2));
+            alice.setPreference(Day.WED, pref);
+            journal.recordPreference(alice, Day.WED);
+
+            journal.recordDelete(bob);
+        }
+
+        try (RosterJournal journal = RosterJournal.open(tempDir)) {
+            List<Employee> recovered = journal.recover();
+
+            assertEquals(1, recovered.size());
+            Employee employee = recovered.get(0);
+            assertEquals(alice.getId(), employee.getId());
+            assertEquals("Alice Johnson", employee.getName());
+            assertEquals(Map.of("EVENING", 1, "MORNING", 2), employee.getPreference(Day.WED).getRanked());
+            assertFalse(employee.getPreference(Day.MON).hasPreference());
+        }
+    }
+
+    @Test
+    void testTornTailIsDiscarded() throws IOException {
+        Employee alice = new Employee("Alice");
+        Employee bob = new Employee("Bob");
+
+        try (RosterJournal journal = RosterJournal.open(tempDir)) {
+            journal.recover();
+            journal.recordAdd(alice);
+            journal.recordAdd(bob);
+        }
+
+        Path journalFile = tempDir.resolve(RosterJournal.JOURNAL_FILE);
+        try (RandomAccessFile raf = new RandomAccessFile(journalFile.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try (RosterJournal journal = RosterJournal.open(tempDir)) {
+            List<Employee> recovered = journal.recover();
+            assertEquals(1, recovered.size());
+            assertEquals("Alice", recovered.get(0).getName());
+
+            journal.recordAdd(bob);
+        }
+
+        try (RosterJournal journal = RosterJournal.open(tempDir)) {
+            assertEquals(2, journal.recover().size());
+        }
+    }
+
+    @Test
+    void testCompactionFoldsJournalIntoSnapshot() throws IOException {
+        List<Employee> roster = new ArrayList<>();
+
+        try (RosterJournal journal = RosterJournal.open(tempDir, 8, 5)) {
+            journal.recover();
+            for (int i = 0; i < 5; i++) {
+                Employee employee = new Employee("Emp " + i);
+                roster.add(employee);
+                journal.recordAdd(employee);
+            }
+            assertTrue(journal.needsCompaction());
+
+            journal.compact(roster);
+            assertFalse(journal.needsCompaction());
+            assertEquals(0, Files.size(tempDir.resolve(RosterJournal.JOURNAL_FILE)));
+
+            journal.recordDelete(roster.get(0));
+        }
+
+        try (RosterJournal journal = RosterJournal.open(tempDir)) {
+            List<Employee> recovered = journal.recover();
+            assertEquals(4, recovered.size());
+            assertEquals("Emp 1", recovered.get(0).getName());
+        }
+    }
+}
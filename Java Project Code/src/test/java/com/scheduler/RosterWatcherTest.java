@@ -0,0 +1,121 @@
+package com.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.scheduler.model.*;
+import com.scheduler.util.IOUtil;
+import com.scheduler.util.RosterWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReloadReportsOnlyChangedRecords() throws IOException {
+        Path file = tempDir.resolve("roster.json");
+        List<Employee> roster = new ArrayList<>(IOUtil.loadSampleData());
+        IOUtil.exportEmployees(roster, file.toFile());
+
+        try (RosterWatcher watcher = RosterWatcher.start(file, 50, change -> { })) {
+            assertEquals(roster.size(), watcher.getRoster().size());
+            assertTrue(watcher.reload().isEmpty());
+
+            roster.get(0).setName("Renamed");
+            roster.get(1).setPreference(Day.TUE, Preference.NONE);
+            Employee removed = roster.remove(2);
+            Employee hired = new Employee("New Hire");
+            roster.add(hired);
+            IOUtil.exportEmployees(roster, file.toFile());
+
+            RosterWatcher.RosterChange change = watcher.reload();
+            assertEquals(List.of(hired.getId()), ids(change.getAdded()));
+            assertEquals(List.of(roster.get(0).getId(), roster.get(1).getId()), ids(change.getUpdated()));
+            assertEquals(List.of(removed.getId()), ids(change.getRemoved()));
+            assertEquals("Renamed", change.getUpdated().get(0).getName());
+        }
+    }
+
+    @Test
+    void testRosterWithoutIdsIsMatchedByName() throws IOException {
+        Path file = tempDir.resolve("roster.json");
+        List<Employee> roster = new ArrayList<>(IOUtil.loadSampleData());
+        writeWithoutIds(roster, file);
+
+        try (RosterWatcher watcher = RosterWatcher.start(file, 50, change -> { })) {
+            List<String> firstIds = ids(watcher.getRoster());
+            writeWithoutIds(roster, file);
+            assertTrue(watcher.reload().isEmpty());
+            assertEquals(firstIds, ids(watcher.getRoster()));
+
+            roster.get(1).setPreference(Day.TUE, Preference.NONE);
+            Employee removed = roster.remove(2);
+            roster.add(new Employee("New Hire"));
+            writeWithoutIds(roster, file);
+
+            RosterWatcher.RosterChange change = watcher.reload();
+            assertEquals(List.of("New Hire"), names(change.getAdded()));
+            assertEquals(List.of(roster.get(1).getName()), names(change.getUpdated()));
+            assertEquals(List.of(firstIds.get(1)), ids(change.getUpdated()));
+            assertEquals(List.of(removed.getName()), names(change.getRemoved()));
+            assertEquals(List.of(firstIds.get(2)), ids(change.getRemoved()));
+        }
+    }
+
+    @Test
+    void testBurstOfWritesIsDebouncedIntoOneChange() throws Exception {
+        Path file = tempDir.resolve("roster.json");
+        List<Employee> roster = new ArrayList<>(IOUtil.loadSampleData());
+        IOUtil.exportEmployees(roster, file.toFile());
+
+        BlockingQueue<RosterWatcher.RosterChange> changes = new LinkedBlockingQueue<>();
+        try (RosterWatcher watcher = RosterWatcher.start(file, 300, changes::add)) {
+            for (int i = 0; i < 3; i++) {
+                roster.add(new Employee("Temp " + i));
+                IOUtil.exportEmployees(roster, file.toFile());
+            }
+
+            RosterWatcher.RosterChange change = changes.poll(10, TimeUnit.SECONDS);
+            assertNotNull(change, "watcher never reported the change");
+            assertEquals(3, change.getAdded().size());
+            assertNull(changes.poll(600, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private static void writeWithoutIds(List<Employee> roster, Path file) throws IOException {
+        IOUtil.exportEmployees(roster, file.toFile());
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode records = (ArrayNode) mapper.readTree(file.toFile());
+        records.forEach(record -> ((ObjectNode) record).remove("id"));
+        mapper.writeValue(file.toFile(), records);
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        List<String> names = new ArrayList<>();
+        for (Employee employee : employees) {
+            names.add(employee.getName());
+        }
+        return names;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        List<String> ids = new ArrayList<>();
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,160 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.service.SchedulerService;
+import com.scheduler.util.IOUtil;
+import com.scheduler.util.ScheduleHistoryStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleHistoryStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testQueriesMatchArchivedWeeksAfterReopen() throws IOException {
+        List<Employee> employees = IOUtil.loadSampleData();
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        Map<String, Integer> expectedBackfills = new HashMap<>();
+        Map<String, Integer> expectedShifts = new HashMap<>();
+        List<SchedulingResult> results = new ArrayList<>();
+
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            for (int week = 0; week < 6; week++) {
+                SchedulingResult result = new SchedulerService(week).generateSchedule(employees);
+                store.append(first.plusWeeks(week), result);
+                results.add(result);
+                if (week >= 2) {
+                    countInto(result, expectedShifts, expectedBackfills);
+                }
+            }
+        }
+
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            assertEquals(6, store.weeks().size());
+            LocalDate from = first.plusWeeks(2);
+            LocalDate to = first.plusWeeks(5);
+            assertEquals(expectedBackfills, store.countPerEmployee(PlacementSource.BACKFILL, from, to));
+            assertEquals(expectedShifts, store.shiftsPerEmployee(from, to));
+
+            Schedule loaded = store.loadWeek(first.plusWeeks(3));
+            Schedule original = results.get(3).getSchedule();
+            for (Day day : Day.values()) {
+                for (Shift shift : Shift.values()) {
+                    assertEquals(original.getAssignedEmployees(day, shift), loaded.getAssignedEmployees(day, shift));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReArchivedWeekSupersedesAndTornIndexIsIgnored() throws IOException {
+        List<Employee> employees = IOUtil.loadSampleData();
+        LocalDate week = LocalDate.of(2024, 3, 4);
+        Schedule empty = new Schedule();
+
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            store.append(week, new SchedulerService(1).generateSchedule(employees));
+            empty.assignEmployee(Day.MON, Shift.MORNING, "Replacement");
+            store.append(week, empty, PlacementIndex.EMPTY);
+        }
+
+        // Simulate a crash part-way through writing the next index record
+        try (FileChannel index = FileChannel.open(tempDir.resolve("chunks.idx"), StandardOpenOption.APPEND)) {
+            index.write(ByteBuffer.wrap(new byte[20]));
+        }
+
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            assertEquals(List.of(week), store.weeks());
+            assertEquals(Map.of("Replacement", 1), store.shiftsPerEmployee(week, week));
+            assertTrue(store.countPerEmployee(PlacementSource.BACKFILL, week, week).isEmpty());
+            assertEquals(List.of("Replacement"), store.loadWeek(week).getAssignedEmployees(Day.MON, Shift.MORNING));
+        }
+    }
+
+    @Test
+    void testMovedCellsLoseSolverProvenanceAndTornNamesAreDropped() throws IOException {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(3);
+        SchedulingResult result = service.generateSchedule(employees);
+        LocalDate week = LocalDate.of(2024, 5, 6);
+
+        // Move someone within the day, as a drag in the grid would
+        String moved = null;
+        Shift from = null;
+        Shift to = null;
+        for (Shift shift : Shift.values()) {
+            for (String name : result.getSchedule().getAssignedEmployees(Day.TUE, shift)) {
+                if (moved == null && result.placements().sourceOf(name, Day.TUE) != null) {
+                    moved = name;
+                    from = shift;
+                    to = Shift.values()[(shift.ordinal() + 1) % Shift.values().length];
+                }
+            }
+        }
+        assertNotNull(moved);
+        service.edit(result.getSchedule()).move(moved, Day.TUE, from, Day.TUE, to);
+
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            store.append(week, result);
+        }
+
+        // A crash part-way through writing a new name leaves it without a newline
+        Files.writeString(tempDir.resolve("names.txt"), "Half-writ", StandardOpenOption.APPEND);
+
+        Schedule next = new Schedule();
+        next.assignEmployee(Day.MON, Shift.MORNING, "Newcomer");
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            store.append(week.plusWeeks(1), next, PlacementIndex.EMPTY);
+        }
+
+        try (ScheduleHistoryStore store = ScheduleHistoryStore.open(tempDir)) {
+            assertEquals(List.of("Newcomer"),
+                store.loadWeek(week.plusWeeks(1)).getAssignedEmployees(Day.MON, Shift.MORNING));
+            assertTrue(store.loadWeek(week).getAssignedEmployees(Day.TUE, to).contains(moved));
+
+            int solved = 0;
+            for (PlacementSource source : PlacementSource.values()) {
+                solved += store.countPerEmployee(source, week, week).getOrDefault(moved, 0);
+            }
+            int expected = 0;
+            for (Day day : Day.values()) {
+                if (day != Day.TUE && result.placements().sourceOf(moved, day) != null) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, solved);
+        }
+        assertFalse(Files.readString(tempDir.resolve("names.txt")).contains("Half-writ"));
+    }
+
+    private static void countInto(SchedulingResult result, Map<String, Integer> shifts,
+                                  Map<String, Integer> backfills) {
+        Schedule schedule = result.getSchedule();
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                for (String name : schedule.getAssignedEmployees(day, shift)) {
+                    shifts.merge(name, 1, Integer::sum);
+                    if (result.placements().sourceOf(name, day) == PlacementSource.BACKFILL) {
+                        backfills.merge(name, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+    }
+}
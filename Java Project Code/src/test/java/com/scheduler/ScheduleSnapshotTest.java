@@ -0,0 +1,101 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.service.SchedulerService;
+import com.scheduler.util.IOUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSnapshotTest {
+
+    @Test
+    void testEditsShareUnchangedCells() {
+        Schedule schedule = new SchedulerService(42).generateSchedule(IOUtil.loadSampleData()).getSchedule();
+        ScheduleSnapshot before = schedule.snapshot();
+
+        ScheduleSnapshot after = before.withAssignment(Day.MON, Shift.MORNING, "Temp Worker");
+
+        assertFalse(before.getAssignedEmployees(Day.MON, Shift.MORNING).contains("Temp Worker"));
+        assertTrue(after.getAssignedEmployees(Day.MON, Shift.MORNING).contains("Temp Worker"));
+        assertFalse(after.sharesCell(before, Day.MON, Shift.MORNING));
+        assertTrue(after.sharesCell(before, Day.TUE, Shift.EVENING));
+        assertEquals(before.getVersion() + 1, after.getVersion());
+
+        assertThrows(UnsupportedOperationException.class,
+            () -> after.getAssignedEmployees(Day.MON, Shift.MORNING).add("Sneaky"));
+        assertEquals(schedule.getAssignments(), before.toSchedule().getAssignments());
+    }
+
+    @Test
+    void testConcurrentWritersNeverLoseUpdates() throws Exception {
+        SchedulePublisher publisher = new SchedulePublisher();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    String name = "W" + thread + "-" + i;
+                    publisher.update(s -> s.withAssignment(Day.WED, Shift.AFTERNOON, name));
+                    ScheduleSnapshot view = publisher.current();
+                    int size = view.getAssignedEmployees(Day.WED, Shift.AFTERNOON).size();
+                    assertTrue(size >= 1);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        ScheduleSnapshot last = publisher.current();
+        assertEquals(1000, last.getAssignedEmployees(Day.WED, Shift.AFTERNOON).size());
+        assertEquals(1000, last.getVersion());
+    }
+
+    @Test
+    void testDiffReportsAddedRemovedAndMoved() {
+        Schedule schedule = new Schedule();
+        schedule.assignEmployee(Day.MON, Shift.MORNING, "Alice");
+        schedule.assignEmployee(Day.MON, Shift.MORNING, "Bob");
+        schedule.assignEmployee(Day.TUE, Shift.MORNING, "Carol");
+        ScheduleSnapshot before = schedule.snapshot();
+
+        ScheduleSnapshot after = before
+            .withoutAssignment(Day.MON, Shift.MORNING, "Bob")
+            .withAssignment(Day.MON, Shift.EVENING, "Bob")
+            .withoutAssignment(Day.TUE, Shift.MORNING, "Carol")
+            .withAssignment(Day.WED, Shift.AFTERNOON, "Dave");
+
+        ScheduleDiff diff = ScheduleDiff.compute(before, after);
+
+        assertEquals(3, diff.getChanges().size());
+        ScheduleChange moved = diff.byEmployee().get("Bob").get(0);
+        assertEquals(ScheduleChange.Type.MOVED, moved.getType());
+        assertEquals(Shift.MORNING, moved.getFromShift());
+        assertEquals(Shift.EVENING, moved.getToShift());
+        assertEquals(ScheduleChange.Type.REMOVED, diff.byEmployee().get("Carol").get(0).getType());
+        assertEquals(ScheduleChange.Type.ADDED, diff.byEmployee().get("Dave").get(0).getType());
+
+        assertTrue(diff.isCellChanged(Day.MON, Shift.MORNING));
+        assertTrue(diff.isCellChanged(Day.MON, Shift.EVENING));
+        assertFalse(diff.isCellChanged(Day.TUE, Shift.AFTERNOON));
+
+        // Same assignments in a different order are not a change
+        Schedule reordered = new Schedule();
+        reordered.assignEmployee(Day.MON, Shift.MORNING, "Bob");
+        reordered.assignEmployee(Day.MON, Shift.MORNING, "Alice");
+        reordered.assignEmployee(Day.TUE, Shift.MORNING, "Carol");
+        assertTrue(ScheduleDiff.compute(before, reordered).isEmpty());
+    }
+}
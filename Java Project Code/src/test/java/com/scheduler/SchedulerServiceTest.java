@@ -1,10 +1,22 @@
 package com.scheduler;
 
 import com.scheduler.model.*;
+import com.scheduler.service.AbsenceModel;
+import com.scheduler.service.BackfillMode;
+import com.scheduler.service.PreferenceOrder;
+import com.scheduler.service.ScheduleEditor;
+import com.scheduler.service.SchedulingStage;
+import com.scheduler.service.SolverWorkspace;
 import com.scheduler.service.SchedulerService;
 import com.scheduler.util.IOUtil;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -187,4 +199,643 @@ class SchedulerServiceTest {
         assertTrue(workDays.get(emp.getName()) <= 5,
             "Single employee should not exceed 5 days");
     }
+
+    @Test
+    void testFeasibilityCheckReportsShortfall() {
+        List<Employee> employees = List.of(
+            new Employee("A"), new Employee("B"), new Employee("C"));
+        SchedulerService service = new SchedulerService(42);
+
+        FeasibilityReport report = service.checkFeasibility(employees);
+
+        assertFalse(report.isFeasible());
+        assertEquals(42, report.getRequiredSlots());
+        assertEquals(15, report.getCoverableSlots());
+        assertEquals(27, report.getTotalShortfall());
+
+        int reported = 0;
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                reported += report.getShortfall(day, shift);
+            }
+        }
+        assertEquals(report.getTotalShortfall(), reported);
+        assertEquals(2, report.getShortfall(Day.SUN, Shift.MORNING));
+        assertEquals(0, report.getShortfall(Day.MON, Shift.MORNING));
+    }
+
+    @Test
+    void testFeasibilityCheckSampleDataIsFeasible() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(42);
+
+        assertTrue(service.checkFeasibility(employees).isFeasible());
+    }
+
+    @Test
+    void testStrictModeSkipsInfeasibleSolve() {
+        List<Employee> employees = List.of(new Employee("A"), new Employee("B"));
+        SchedulerService service = new SchedulerService(42);
+        service.setBestEffort(false);
+
+        SchedulingResult result = service.generateSchedule(employees);
+
+        assertEquals(0.0, result.getStats().get("totalAssignments"));
+        assertTrue(result.getLogs().stream().anyMatch(log -> log.startsWith("INFEASIBLE")));
+        assertTrue(result.getLogs().stream().noneMatch(log -> log.startsWith("WARNING: Cannot backfill")));
+    }
+
+    @Test
+    void testParallelBackfillIsIndependentOfThreadCount() {
+        List<Employee> employees = IOUtil.loadSampleData();
+
+        SchedulerService single = new SchedulerService(7);
+        single.setBackfillMode(BackfillMode.PARALLEL_BY_DAY);
+        single.setParallelism(1);
+        Schedule schedule1 = single.generateSchedule(employees).getSchedule();
+
+        SchedulerService parallel = new SchedulerService(7);
+        parallel.setBackfillMode(BackfillMode.PARALLEL_BY_DAY);
+        parallel.setParallelism(8);
+        Schedule schedule2 = parallel.generateSchedule(employees).getSchedule();
+
+        assertEquals(schedule1.getAssignments(), schedule2.getAssignments());
+    }
+
+    @Test
+    void testParallelBackfillRespectsConstraints() {
+        List<Employee> employees = new ArrayList<>(IOUtil.loadSampleData());
+        for (int i = 0; i < 30; i++) {
+            employees.add(new Employee("Extra " + i));
+        }
+
+        SchedulerService service = new SchedulerService(42);
+        service.setBackfillMode(BackfillMode.PARALLEL_BY_DAY);
+        assertScheduleInvariants(service.generateSchedule(employees).getSchedule(), employees);
+    }
+
+    @Test
+    void testLeastLoadedBackfillSpreadsWorkEvenly() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(new Employee("Emp " + i));
+        }
+
+        SchedulerService service = new SchedulerService(42);
+        service.setBackfillMode(BackfillMode.LEAST_LOADED);
+        Schedule schedule = service.generateSchedule(employees).getSchedule();
+
+        assertScheduleInvariants(schedule, employees);
+
+        Map<String, Integer> workDays = new HashMap<>();
+        for (Employee emp : employees) {
+            workDays.put(emp.getName(), 0);
+        }
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                for (String empName : schedule.getAssignedEmployees(day, shift)) {
+                    workDays.merge(empName, 1, Integer::sum);
+                }
+            }
+        }
+        int min = workDays.values().stream().min(Integer::compare).orElse(0);
+        int max = workDays.values().stream().max(Integer::compare).orElse(0);
+        assertTrue(max - min <= 1, String.format("Work days range from %d to %d", min, max));
+    }
+
+    @Test
+    void testLeastLoadedBackfillIsDeterministic() {
+        List<Employee> employees = IOUtil.loadSampleData();
+
+        SchedulerService service1 = new SchedulerService(99);
+        service1.setBackfillMode(BackfillMode.LEAST_LOADED);
+        SchedulerService service2 = new SchedulerService(99);
+        service2.setBackfillMode(BackfillMode.LEAST_LOADED);
+
+        Schedule schedule1 = service1.generateSchedule(employees).getSchedule();
+        Schedule schedule2 = service2.generateSchedule(employees).getSchedule();
+
+        assertEquals(schedule1.getAssignments(), schedule2.getAssignments());
+        assertScheduleInvariants(schedule1, employees);
+    }
+
+    @Test
+    void testOffHeapRosterSchedulesIdenticallyToList() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        OffHeapRoster roster = OffHeapRoster.from(employees);
+
+        assertEquals(employees.size(), roster.size());
+        assertEquals(employees.get(3).getName(), roster.nameAt(3));
+        assertEquals(3, roster.indexOf(employees.get(3).getName()));
+        assertSame(employees.get(0).getPreference(Day.MON), roster.preferenceAt(0, Day.MON));
+
+        SchedulingResult fromList = new SchedulerService(42).generateSchedule(employees);
+        SchedulingResult fromOffHeap = new SchedulerService(42).generateSchedule(roster);
+
+        assertEquals(fromList.getSchedule().getAssignments(), fromOffHeap.getSchedule().getAssignments());
+        assertEquals(fromList.getStats(), fromOffHeap.getStats());
+    }
+
+    @Test
+    void testOffHeapRosterWithDuplicateNamesReusesWorkspace() {
+        List<Employee> employees = new ArrayList<>(IOUtil.loadSampleData());
+        Employee twin = new Employee(employees.get(2).getName());
+        twin.setPreference(Day.SAT, employees.get(5).getPreference(Day.SAT));
+        employees.add(twin);
+
+        OffHeapRoster roster = OffHeapRoster.from(employees);
+        assertEquals(2, roster.firstIndexOf(employees.size() - 1));
+        assertEquals(4, roster.firstIndexOf(4));
+
+        SolverWorkspace workspace = new SolverWorkspace();
+        for (int run = 0; run < 2; run++) {
+            // The second run adds an employee, so the roster version moves on and ids are rebuilt
+            if (run == 1) {
+                Employee extra = new Employee("Extra");
+                extra.setPreference(Day.SUN, employees.get(0).getPreference(Day.MON));
+                employees.add(extra);
+                roster.add(extra);
+            }
+            for (int repeat = 0; repeat < 2; repeat++) {
+                SchedulingResult fromList = new SchedulerService(7).generateSchedule(employees);
+                SchedulingResult fromOffHeap = new SchedulerService(7).generateSchedule(roster, workspace);
+                assertEquals(fromList.getSchedule().getAssignments(), fromOffHeap.getSchedule().getAssignments());
+                assertEquals(fromList.getStats(), fromOffHeap.getStats());
+                assertEquals(fromList.getLogs(), fromOffHeap.getLogs());
+            }
+        }
+    }
+
+    @Test
+    void testOffHeapScheduleStoreRoundTrip() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        OffHeapRoster roster = OffHeapRoster.from(employees);
+        OffHeapScheduleStore store = new OffHeapScheduleStore(16);
+
+        Schedule first = new SchedulerService(1).generateSchedule(roster).getSchedule();
+        Schedule second = new SchedulerService(2).generateSchedule(roster).getSchedule();
+        assertEquals(0, store.append(first, roster));
+        assertEquals(1, store.append(second, roster));
+
+        assertEquals(first.getAssignments(), store.toSchedule(0, roster).getAssignments());
+        assertEquals(second.getAssignments(), store.toSchedule(1, roster).getAssignments());
+        assertEquals(second.getAssignedEmployees(Day.FRI, Shift.EVENING).size(),
+            store.countAt(1, Day.FRI, Shift.EVENING));
+    }
+
+    @Test
+    void testAbsenceSimulationBounds() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(42);
+        SchedulingResult result = service.generateSchedule(employees);
+
+        AbsenceRiskReport none = service.simulateAbsences(result, employees, new AbsenceModel(0.0), 1000);
+        assertEquals(0.0, none.getWorstProbability());
+
+        AbsenceRiskReport everyone = service.simulateAbsences(result, employees, new AbsenceModel(1.0), 100);
+        assertEquals(1.0, everyone.getShortfallProbability(Day.MON, Shift.MORNING));
+        assertEquals(1.0, everyone.getShortfallProbability(Day.SUN, Shift.EVENING));
+    }
+
+    @Test
+    void testAbsenceSimulationIsDeterministic() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(7);
+        SchedulingResult result = service.generateSchedule(employees);
+        AbsenceModel model = new AbsenceModel(0.15).setDayFactor(Day.MON, 2.0);
+
+        service.setParallelism(4);
+        AbsenceRiskReport parallel = service.simulateAbsences(result, employees, model, 20000);
+        AbsenceRiskReport repeated = service.simulateAbsences(result, employees, model, 20000);
+
+        assertEquals(20000, parallel.getScenarios());
+        assertTrue(parallel.getWorstProbability() > 0.0);
+        assertTrue(parallel.getWorstProbability() < 1.0);
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                assertEquals(parallel.getShortfallProbability(day, shift),
+                    repeated.getShortfallProbability(day, shift));
+            }
+        }
+
+        // The same seed gives the same estimate whatever the worker count
+        for (int parallelism : new int[] {1, 3, 16}) {
+            service.setParallelism(parallelism);
+            AbsenceRiskReport other = service.simulateAbsences(result, employees, model, 20000);
+            for (Day day : Day.values()) {
+                for (Shift shift : Shift.values()) {
+                    assertEquals(parallel.getShortfallProbability(day, shift),
+                        other.getShortfallProbability(day, shift));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testScheduleEditorTracksViolationsIncrementally() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(42);
+        Schedule schedule = service.generateSchedule(employees).getSchedule();
+        ScheduleEditor editor = service.edit(schedule);
+        assertTrue(editor.isValid());
+
+        String name = schedule.getAssignedEmployees(Day.MON, Shift.MORNING).get(0);
+        Shift other = schedule.getAssignedEmployees(Day.MON, Shift.EVENING).contains(name)
+            ? Shift.AFTERNOON : Shift.EVENING;
+
+        // Adding a second shift on the same day is a double booking
+        assertFalse(editor.assign(Day.MON, other, name));
+        assertTrue(editor.isDoubleBooked(name, Day.MON));
+        assertTrue(editor.unassign(Day.MON, other, name));
+
+        // Draining a cell below the minimum flags it, refilling clears it
+        List<String> removed = new ArrayList<>(schedule.getAssignedEmployees(Day.TUE, Shift.AFTERNOON));
+        for (String worker : removed) {
+            editor.unassign(Day.TUE, Shift.AFTERNOON, worker);
+        }
+        assertTrue(editor.isUnderstaffed(Day.TUE, Shift.AFTERNOON));
+        for (String worker : removed) {
+            editor.assign(Day.TUE, Shift.AFTERNOON, worker);
+        }
+        assertTrue(editor.isValid());
+
+        // Filling every free day pushes the employee past the weekly limit
+        List<Day> added = new ArrayList<>();
+        for (Day day : Day.values()) {
+            if (!editor.isEmployeeScheduled(day, name)) {
+                editor.assign(day, Shift.MORNING, name);
+                added.add(day);
+            }
+        }
+        assertEquals(7, editor.getWorkDays(name));
+        assertTrue(editor.isOverworked(name));
+        assertFalse(editor.isValid());
+        for (Day day : added) {
+            editor.unassign(day, Shift.MORNING, name);
+        }
+
+        assertEquals(0, editor.getViolationCount());
+        assertEquals(editor.describeViolations().isEmpty(), editor.isValid());
+        assertScheduleInvariants(schedule, employees);
+    }
+
+    @Test
+    void testRefreshStatsFollowsManualEdits() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(42);
+        SchedulingResult result = service.generateSchedule(employees);
+        Map<String, Double> solved = new HashMap<>(result.getStats());
+
+        service.refreshStats(result, RosterView.of(employees));
+        assertEquals(solved, result.getStats());
+
+        ScheduleEditor editor = service.edit(result.getSchedule());
+        String name = result.getSchedule().getAssignedEmployees(Day.MON, Shift.MORNING).get(0);
+        editor.unassign(Day.MON, Shift.MORNING, name);
+        service.refreshStats(result, RosterView.of(employees));
+        assertEquals(solved.get("totalAssignments") - 1, result.getStats().get("totalAssignments"));
+        assertEquals(solved.get("firstChoiceBound"), result.getStats().get("firstChoiceBound"));
+    }
+
+    @Test
+    void testMoveOntoCellAlreadyHoldingEmployeeKeepsThem() {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(42);
+        Schedule schedule = service.generateSchedule(employees).getSchedule();
+        ScheduleEditor editor = service.edit(schedule);
+
+        String name = schedule.getAssignedEmployees(Day.WED, Shift.MORNING).get(0);
+        Shift other = schedule.getAssignedEmployees(Day.WED, Shift.EVENING).contains(name)
+            ? Shift.AFTERNOON : Shift.EVENING;
+        assertFalse(editor.assign(Day.WED, other, name));
+
+        // The target already lists the employee, so the move leaves both cells untouched
+        assertFalse(editor.move(name, Day.WED, Shift.MORNING, Day.WED, other));
+        assertTrue(schedule.getAssignedEmployees(Day.WED, Shift.MORNING).contains(name));
+        assertTrue(schedule.getAssignedEmployees(Day.WED, other).contains(name));
+        assertTrue(editor.isDoubleBooked(name, Day.WED));
+
+        assertTrue(editor.unassign(Day.WED, other, name));
+        assertEquals(0, editor.getViolationCount());
+        assertScheduleInvariants(schedule, employees);
+    }
+
+    @Test
+    void testValidatorChecksExportedSchedules(@TempDir Path tempDir) throws IOException {
+        List<Employee> employees = IOUtil.loadSampleData();
+        SchedulerService service = new SchedulerService(42);
+        SchedulingResult result = service.generateSchedule(employees);
+
+        File json = tempDir.resolve("site-a.json").toFile();
+        IOUtil.exportScheduleJSON(result, json);
+
+        Schedule edited = result.getSchedule().snapshot().toSchedule();
+        String name = edited.getAssignedEmployees(Day.WED, Shift.MORNING).get(0);
+        edited.getAssignedEmployees(Day.WED, Shift.EVENING).add(name);
+        edited.getAssignedEmployees(Day.SAT, Shift.AFTERNOON).clear();
+        edited.assignEmployee(Day.SUN, Shift.EVENING, "Stranger");
+        File csv = tempDir.resolve("site-b.csv").toFile();
+        IOUtil.exportScheduleCSV(edited, csv);
+
+        File broken = tempDir.resolve("site-c.json").toFile();
+        Files.writeString(broken.toPath(), "{\"schedule\": {\"assignments\": {\"FUNDAY\": {}}}}");
+
+        service.setParallelism(2);
+        List<ValidationReport> reports = service.validator(employees)
+            .validateFiles(List.of(json, csv, broken));
+
+        assertTrue(reports.get(0).isValid(), String.join("\n", reports.get(0).describe()));
+
+        ValidationReport report = reports.get(1);
+        assertEquals(1, report.count(ValidationReport.Type.DOUBLE_SHIFT));
+        assertEquals(1, report.count(ValidationReport.Type.UNDERSTAFFED));
+        assertEquals(1, report.count(ValidationReport.Type.UNKNOWN_EMPLOYEE));
+        assertTrue(report.describe().stream().anyMatch(line -> line.contains("Stranger")));
+
+        assertFalse(reports.get(2).isReadable());
+
+        // A null in place of a day or an employee name is an error, not a day off or "null"
+        File nullName = tempDir.resolve("site-d.json").toFile();
+        Files.writeString(nullName.toPath(), "{\"assignments\": {\"MON\": {\"MORNING\": [\"Alice Johnson\", null]}}}");
+        IOException badName = assertThrows(IOException.class, () -> IOUtil.importScheduleJSON(nullName));
+        assertTrue(badName.getMessage().contains("site-d.json"), badName.getMessage());
+        assertTrue(badName.getMessage().contains("MON MORNING"), badName.getMessage());
+
+        File nullDay = tempDir.resolve("site-e.json").toFile();
+        Files.writeString(nullDay.toPath(), "{\"assignments\": {\"MON\": null, \"TUE\": {}}}");
+        IOException badDay = assertThrows(IOException.class, () -> IOUtil.importScheduleJSON(nullDay));
+        assertTrue(badDay.getMessage().contains("site-e.json"), badDay.getMessage());
+        assertTrue(badDay.getMessage().contains("MON"), badDay.getMessage());
+    }
+
+    @Test
+    void testSharedWorkspaceMatchesFreshRuns() {
+        List<Employee> sample = IOUtil.loadSampleData();
+        List<Employee> smaller = new ArrayList<>(sample.subList(0, 8));
+        SolverWorkspace workspace = new SolverWorkspace();
+
+        // Alternate rosters so the workspace has to re-index and clear between runs
+        for (List<Employee> roster : List.of(sample, smaller, sample)) {
+            SchedulingResult shared = new SchedulerService(9).generateSchedule(RosterView.of(roster), workspace);
+            SchedulingResult fresh = new SchedulerService(9).generateSchedule(roster);
+
+            assertEquals(fresh.getSchedule().getAssignments(), shared.getSchedule().getAssignments());
+            assertEquals(fresh.getStats(), shared.getStats());
+            assertEquals(fresh.getLogs(), shared.getLogs());
+        }
+    }
+
+    @Test
+    void testPlacementIndexExplainsEveryAssignment() {
+        List<Employee> employees = new ArrayList<>();
+        for (String name : List.of("Ann", "Ben", "Cal")) {
+            Employee employee = new Employee(name);
+            Preference pref = new Preference();
+            pref.setSingle("MORNING");
+            employee.setPreference(Day.MON, pref);
+            employees.add(employee);
+        }
+
+        SchedulerService service = new SchedulerService(42);
+        service.setDetailedLogs(false);
+        SchedulingResult result = service.generateSchedule(employees);
+        PlacementIndex placements = result.placements();
+
+        assertEquals(PlacementSource.PREFERENCE, placements.sourceOf("Ann", Day.MON));
+        assertEquals(PlacementSource.SAME_DAY_ALTERNATIVE, placements.sourceOf("Cal", Day.MON));
+        assertEquals(Shift.AFTERNOON, placements.shiftOf("Cal", Day.MON));
+        assertEquals(RejectionReason.SHIFT_FULL, placements.rejectionOf("Cal", Day.MON, Shift.MORNING));
+        assertEquals("Cal works MON AFTERNOON: same-day alternative (MON MORNING shift full)",
+            placements.explain("Cal", Day.MON));
+        assertTrue(result.getLogs().stream().noneMatch(line -> line.startsWith("Placed")));
+
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                for (String name : result.getSchedule().getAssignedEmployees(day, shift)) {
+                    assertNotNull(placements.sourceOf(name, day), name + " on " + day);
+                    assertEquals(shift, placements.shiftOf(name, day));
+                }
+            }
+        }
+        assertEquals(PlacementSource.BACKFILL, placements.sourceOf("Ben", Day.TUE));
+    }
+
+    @Test
+    void testFirstChoiceBoundNeverBelowAchieved() {
+        List<Employee> crowded = new ArrayList<>();
+        for (String name : List.of("Ann", "Ben", "Cal")) {
+            Employee employee = new Employee(name);
+            Preference pref = new Preference();
+            pref.setSingle("MORNING");
+            employee.setPreference(Day.MON, pref);
+            crowded.add(employee);
+        }
+        Map<String, Double> stats = new SchedulerService(1).generateSchedule(crowded).getStats();
+        // Only two of the three MON MORNING requests can ever be honoured
+        assertEquals(2.0, stats.get("firstChoiceBound"));
+        assertEquals(0.0, stats.get("firstChoiceGap"));
+
+        List<Employee> sample = IOUtil.loadSampleData();
+        for (long seed = 0; seed < 25; seed++) {
+            Map<String, Double> sampleStats = new SchedulerService(seed).generateSchedule(sample).getStats();
+            assertTrue(sampleStats.get("firstChoiceBound") >= sampleStats.get("firstChoice"));
+            assertTrue(sampleStats.get("firstChoiceGap") >= 0);
+        }
+    }
+
+    @Test
+    void testSpilloverSkipsFullDaysAndDaysAlreadyWorked() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Employee employee = new Employee("Emp" + i);
+            Preference pref = new Preference();
+            pref.setSingle("MORNING");
+            // Six per day fill every MON and TUE shift
+            employee.setPreference(i < 6 ? Day.MON : Day.TUE, pref);
+            employees.add(employee);
+        }
+        Employee late = new Employee("Late");
+        for (Day day : List.of(Day.MON, Day.WED)) {
+            Preference pref = new Preference();
+            pref.setSingle("MORNING");
+            late.setPreference(day, pref);
+        }
+        employees.add(late);
+
+        SchedulingResult result = new SchedulerService(42).generateSchedule(employees);
+        PlacementIndex placements = result.placements();
+
+        assertEquals(PlacementSource.PREFERENCE, placements.sourceOf("Late", Day.WED));
+        assertEquals(PlacementSource.SPILLOVER, placements.sourceOf("Late", Day.THU));
+        assertEquals(Shift.MORNING, placements.shiftOf("Late", Day.THU));
+        assertEquals(Day.MON, placements.spilloverOrigin("Late", Day.THU));
+        assertEquals(RejectionReason.SHIFT_FULL, placements.rejectionOf("Late", Day.MON, Shift.EVENING));
+        // The days spillover passes over still say why they were passed over
+        assertEquals(RejectionReason.SHIFT_FULL, placements.rejectionOf("Late", Day.TUE, Shift.AFTERNOON));
+        assertEquals(RejectionReason.ALREADY_SCHEDULED, placements.rejectionOf("Late", Day.WED, Shift.EVENING));
+        assertScheduleInvariants(result.getSchedule(), employees);
+    }
+
+    @Test
+    void testMostConstrainedFirstPlacesSinglePreferencesBeforeFlexibleOnes() {
+        List<Employee> employees = new ArrayList<>();
+        for (String name : List.of("Flex1", "Flex2")) {
+            Employee employee = new Employee(name);
+            Preference pref = new Preference();
+            pref.setRanked(Map.of("MORNING", 1, "AFTERNOON", 2));
+            employee.setPreference(Day.MON, pref);
+            employees.add(employee);
+        }
+        for (String name : List.of("Fixed1", "Fixed2")) {
+            Employee employee = new Employee(name);
+            Preference pref = new Preference();
+            pref.setSingle("MORNING");
+            employee.setPreference(Day.MON, pref);
+            employees.add(employee);
+        }
+
+        SchedulingResult byRoster = new SchedulerService(42).generateSchedule(employees);
+        assertEquals(PlacementSource.SAME_DAY_ALTERNATIVE, byRoster.placements().sourceOf("Fixed1", Day.MON));
+
+        SchedulerService service = new SchedulerService(42);
+        service.setPreferenceOrder(PreferenceOrder.MOST_CONSTRAINED_FIRST);
+        SchedulingResult result = service.generateSchedule(employees);
+        PlacementIndex placements = result.placements();
+
+        for (Employee employee : employees) {
+            assertEquals(PlacementSource.PREFERENCE, placements.sourceOf(employee.getName(), Day.MON));
+        }
+        assertEquals(Shift.MORNING, placements.shiftOf("Fixed1", Day.MON));
+        assertEquals(Shift.AFTERNOON, placements.shiftOf("Flex2", Day.MON));
+        assertEquals(2, placements.rankOf("Flex1", Day.MON));
+        assertTrue(result.getLogs().stream().noneMatch(line -> line.startsWith("CONFLICT")));
+    }
+
+    @Test
+    void testPipelineStagesCanBeSkippedAndExtended() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Employee employee = new Employee("Emp" + i);
+            Preference pref = new Preference();
+            pref.setSingle("MORNING");
+            employee.setPreference(Day.MON, pref);
+            employees.add(employee);
+        }
+        Employee late = new Employee("Late");
+        Preference latePref = new Preference();
+        latePref.setSingle("MORNING");
+        late.setPreference(Day.MON, latePref);
+        employees.add(late);
+
+        SchedulerService service = new SchedulerService(42);
+        assertEquals(List.of(SchedulerService.PREFERENCE_STAGE, SchedulerService.SAME_DAY_STAGE,
+                SchedulerService.SPILLOVER_STAGE, SchedulerService.BACKFILL_STAGE),
+            service.getPipeline().stageNames());
+        SchedulingResult byDefault = service.generateSchedule(employees);
+        assertEquals(service.getPipeline().stageNames(), new ArrayList<>(byDefault.stageTimings().keySet()));
+        assertEquals(PlacementSource.SPILLOVER, byDefault.placements().sourceOf("Late", Day.TUE));
+
+        int[] leftOver = new int[1];
+        service.setPipeline(service.defaultPipeline()
+            .without(SchedulerService.SPILLOVER_STAGE)
+            .then(SchedulingStage.of("count-unplaced", context -> leftOver[0] = context.requests().size()))
+            .then(SchedulingStage.readOnly("audit-a", context -> context.logs().add("audit a")))
+            .then(SchedulingStage.readOnly("audit-b", context -> context.logs().add("audit b"))));
+        SchedulingResult result = service.generateSchedule(employees);
+
+        assertEquals(1, leftOver[0]);
+        assertNotEquals(PlacementSource.SPILLOVER, result.placements().sourceOf("Late", Day.TUE));
+        assertTrue(result.getLogs().stream().noneMatch(line -> line.contains("Spillover")));
+        List<String> logs = result.getLogs();
+        assertEquals(List.of("audit a", "audit b"), logs.subList(logs.size() - 2, logs.size()));
+        assertTrue(result.stageTimings().containsKey("audit-b"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> service.defaultPipeline().insertAfter("local-search", SchedulingStage.of("x", context -> { })));
+
+        // A read-only stage can ask canPlace without leaving rejections behind, and cannot place
+        boolean[] refused = new boolean[1];
+        SchedulerService probed = new SchedulerService(42);
+        probed.setPipeline(probed.defaultPipeline().insertAfter(SchedulerService.PREFERENCE_STAGE,
+            SchedulingStage.readOnly("probe", context -> {
+                for (int i = 0; i < context.roster().size(); i++) {
+                    for (Day day : Day.values()) {
+                        for (Shift shift : Shift.values()) {
+                            context.canPlace(i, day, shift);
+                        }
+                    }
+                }
+                try {
+                    context.place(0, Day.MON, Shift.MORNING, PlacementSource.BACKFILL);
+                } catch (IllegalStateException e) {
+                    refused[0] = true;
+                }
+            })));
+        SchedulingResult probedResult = probed.generateSchedule(employees);
+        assertTrue(refused[0]);
+        for (Employee employee : employees) {
+            for (Day day : Day.values()) {
+                for (Shift shift : Shift.values()) {
+                    assertEquals(byDefault.placements().rejectionOf(employee.getName(), day, shift),
+                        probedResult.placements().rejectionOf(employee.getName(), day, shift));
+                }
+            }
+        }
+
+        // Read-only stages running side by side see the queue but cannot change it
+        int[] seen = new int[2];
+        int[] blocked = new int[1];
+        SchedulerService parallel = new SchedulerService(42);
+        parallel.setParallelism(2);
+        SchedulingStage mutator = SchedulingStage.readOnly("mutate-a", context -> {
+            seen[0] = context.requests().size();
+            try {
+                context.requests().add(0, Day.MON);
+            } catch (IllegalStateException e) {
+                synchronized (blocked) {
+                    blocked[0]++;
+                }
+            }
+        });
+        SchedulingStage filterer = SchedulingStage.readOnly("mutate-b", context -> {
+            seen[1] = context.requests().size();
+            try {
+                context.requests().removeIf((rosterIndex, day) -> true);
+            } catch (IllegalStateException e) {
+                synchronized (blocked) {
+                    blocked[0]++;
+                }
+            }
+        });
+        parallel.setPipeline(parallel.defaultPipeline()
+            .without(SchedulerService.SPILLOVER_STAGE)
+            .insertAfter(SchedulerService.SAME_DAY_STAGE, mutator)
+            .insertAfter("mutate-a", filterer)
+            .then(SchedulingStage.of("count-unplaced", context -> leftOver[0] = context.requests().size())));
+        parallel.generateSchedule(employees);
+        assertEquals(2, blocked[0]);
+        assertEquals(1, seen[0]);
+        assertEquals(1, seen[1]);
+        assertEquals(1, leftOver[0]);
+    }
+
+    private static void assertScheduleInvariants(Schedule schedule, List<Employee> employees) {
+        Map<String, Integer> workDays = new HashMap<>();
+        for (Day day : Day.values()) {
+            Map<String, Integer> shiftsOnDay = new HashMap<>();
+            for (Shift shift : Shift.values()) {
+                List<String> assigned = schedule.getAssignedEmployees(day, shift);
+                assertTrue(assigned.size() >= 2,
+                    String.format("Shift %s %s has only %d employees", day, shift, assigned.size()));
+                for (String empName : assigned) {
+                    workDays.merge(empName, 1, Integer::sum);
+                    shiftsOnDay.merge(empName, 1, Integer::sum);
+                }
+            }
+            shiftsOnDay.forEach((name, count) ->
+                assertEquals(1, count, String.format("%s has %d shifts on %s", name, count, day)));
+        }
+        workDays.forEach((name, count) ->
+            assertTrue(count <= 5, String.format("%s works %d days", name, count)));
+    }
 }
@@ -0,0 +1,76 @@
+package com.scheduler;
+
+import com.scheduler.model.*;
+import com.scheduler.service.SchedulerService;
+import com.scheduler.util.IOUtil;
+import com.scheduler.util.SnapshotUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotUtilTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRosterRoundTrip() throws IOException {
+        List<Employee> employees = IOUtil.loadSampleData();
+        File file = tempDir.resolve("employees.roster").toFile();
+
+        SnapshotUtil.writeEmployees(employees, file);
+        List<Employee> loaded = SnapshotUtil.readEmployees(file);
+
+        assertEquals(employees.size(), loaded.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee expected = employees.get(i);
+            Employee actual = loaded.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            for (Day day : Day.values()) {
+                Preference expectedPref = expected.getPreference(day);
+                Preference actualPref = actual.getPreference(day);
+                assertEquals(expectedPref.getSingle(), actualPref.getSingle(),
+                    String.format("Single preference differs for %s on %s", expected.getName(), day));
+                assertEquals(expectedPref.getRanked(), actualPref.getRanked(),
+                    String.format("Ranked preferences differ for %s on %s", expected.getName(), day));
+            }
+        }
+    }
+
+    @Test
+    void testResultRoundTrip() throws IOException {
+        SchedulingResult result = new SchedulerService(42).generateSchedule(IOUtil.loadSampleData());
+        File file = tempDir.resolve("schedule.snapshot").toFile();
+
+        SnapshotUtil.writeResult(result, file);
+        SchedulingResult loaded = SnapshotUtil.readResult(file);
+
+        assertEquals(result.getSchedule().getAssignments(), loaded.getSchedule().getAssignments());
+        assertEquals(result.getStats(), loaded.getStats());
+        assertEquals(result.getLogs(), loaded.getLogs());
+    }
+
+    @Test
+    void testCorruptedSnapshotIsRejected() throws IOException {
+        File file = tempDir.resolve("employees.roster").toFile();
+        SnapshotUtil.writeEmployees(IOUtil.loadSampleData(), file);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        IOException error = assertThrows(IOException.class, () -> SnapshotUtil.readEmployees(file));
+        assertTrue(error.getMessage().contains("checksum"));
+    }
+}
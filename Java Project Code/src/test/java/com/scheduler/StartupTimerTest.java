@@ -0,0 +1,62 @@
+package com.scheduler;
+
+import com.scheduler.util.StartupTimer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTimerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordsAppendToHistory() throws IOException {
+        Path log = tempDir.resolve("nested").resolve("startup.csv");
+        assertTrue(StartupTimer.history(log).isEmpty());
+
+        StartupTimer.record(log, 850);
+        StartupTimer.record(log, 420);
+        Files.writeString(log, "2024-01-01T00:00:00Z,not-a-number\n", StandardOpenOption.APPEND);
+
+        assertEquals(List.of(850L, 420L), StartupTimer.history(log));
+        assertTrue(Files.readAllLines(log).get(0).startsWith("timestamp,"));
+        assertTrue(StartupTimer.millisSinceStart() > 0);
+    }
+
+    @Test
+    void testLogIsOptInAndBounded() throws IOException {
+        String previous = System.getProperty(StartupTimer.LOG_PROPERTY);
+        try {
+            System.clearProperty(StartupTimer.LOG_PROPERTY);
+            assertNull(StartupTimer.configuredLog());
+            System.setProperty(StartupTimer.LOG_PROPERTY, "true");
+            assertEquals(StartupTimer.defaultLog(), StartupTimer.configuredLog());
+            Path custom = tempDir.resolve("custom.csv");
+            System.setProperty(StartupTimer.LOG_PROPERTY, custom.toString());
+            assertEquals(custom, StartupTimer.configuredLog());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(StartupTimer.LOG_PROPERTY);
+            } else {
+                System.setProperty(StartupTimer.LOG_PROPERTY, previous);
+            }
+        }
+
+        Path log = tempDir.resolve("startup.csv");
+        for (int i = 0; i < 1200; i++) {
+            StartupTimer.record(log, i);
+        }
+        List<Long> history = StartupTimer.history(log);
+        assertTrue(history.size() <= 1000, "log kept " + history.size() + " entries");
+        assertEquals(1199L, history.get(history.size() - 1));
+        assertTrue(Files.readAllLines(log).get(0).startsWith("timestamp,"));
+    }
+}